@@ -3,14 +3,22 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -35,11 +43,23 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved=" + approved, userId, null);
     }
 
+    public ResponseEntity<Object> updateBookings(List<BookingApprovalDto> approvals, Long userId) {
+        return patch("/batch", userId, approvals);
+    }
+
     public ResponseEntity<Object> getBookingById(Long bookingId, Long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingsByUserId(Long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllBookingsByUserId(Long userId, BookingState state, Integer from, Integer size,
+                                                         String after) {
+        if (after != null) {
+            return get("?state={state}&after={after}&size={size}", userId, Map.of(
+                    "state", state.name(),
+                    "after", after,
+                    "size", size)
+            );
+        }
         return get("?state={state}&from={from}&size={size}", userId, Map.of(
                 "state", state.name(),
                 "from", from,
@@ -47,11 +67,48 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getAllBookingsByOwnerId(Long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllBookingsByOwnerId(Long userId, BookingState state, Integer from, Integer size,
+                                                          String after) {
+        if (after != null) {
+            return get("/owner?state={state}&after={after}&size={size}", userId, Map.of(
+                    "state", state.name(),
+                    "after", after,
+                    "size", size)
+            );
+        }
         return get("/owner?state={state}&from={from}&size={size}", userId, Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size)
         );
     }
+
+    public ResponseEntity<Object> getBookingStatsByUserId(Long userId) {
+        return get("/stats", userId);
+    }
+
+    public ResponseEntity<Object> getBookingStatsByOwnerId(Long userId) {
+        return get("/owner/stats", userId);
+    }
+
+    public void exportBookings(Long userId, BookingState state, Boolean owner, HttpServletResponse response)
+            throws IOException {
+        try {
+            rest.execute("/export?state={state}&owner={owner}", HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+                        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                    },
+                    shareitServerResponse -> {
+                        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                        StreamUtils.copy(shareitServerResponse.getBody(), response.getOutputStream());
+                        return null;
+                    },
+                    Map.of("state", state.name(), "owner", owner));
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getRawStatusCode());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
+    }
 }
@@ -6,20 +6,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.validation.ValidationErrorsHandler;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
+    private final Validator validator;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -31,6 +42,25 @@ public class BookingController {
         return bookingClient.addBooking(bookingDto, userId);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateBookings(@RequestBody List<BookingApprovalDto> approvals,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен PATCH запрос на изменение статусов нескольких бронирований.");
+        if (approvals.isEmpty() || approvals.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Количество бронирований в запросе должно быть от 1 до " + MAX_BATCH_SIZE + ".");
+        }
+        if (approvals.stream().map(BookingApprovalDto::getBookingId).distinct().count() != approvals.size()) {
+            throw new ValidationException("Каждое бронирование может быть указано в запросе только один раз.");
+        }
+        for (BookingApprovalDto approval : approvals) {
+            Set<ConstraintViolation<BookingApprovalDto>> violations = validator.validate(approval);
+            if (!violations.isEmpty()) {
+                throw new ValidationException(violations.iterator().next().getMessage());
+            }
+        }
+        return bookingClient.updateBookings(approvals, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBooking(@PathVariable Long bookingId,
                                                 @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -50,21 +80,46 @@ public class BookingController {
     public ResponseEntity<Object> getAllBookingsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                          @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                         @RequestParam(name = "after", required = false) String after) {
         log.debug("Получен GET запрос на получение всех бронирований по id пользователя.");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getAllBookingsByUserId(userId, bookingState, from, size);
+        return bookingClient.getAllBookingsByUserId(userId, bookingState, from, size, after);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                           @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                          @RequestParam(name = "after", required = false) String after) {
         log.debug("Получен GET запрос на получение всех бронирований по id владельца.");
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getAllBookingsByOwnerId(userId, bookingState, from, size);
+        return bookingClient.getAllBookingsByOwnerId(userId, bookingState, from, size, after);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getBookingStatsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен GET запрос на получение количества бронирований пользователя по состояниям.");
+        return bookingClient.getBookingStatsByUserId(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Object> getBookingStatsByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен GET запрос на получение количества бронирований владельца по состояниям.");
+        return bookingClient.getBookingStatsByOwnerId(userId);
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                               @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
+                               @RequestParam(name = "owner", defaultValue = "false") Boolean owner,
+                               HttpServletResponse response) throws IOException {
+        log.debug("Получен GET запрос на выгрузку всех бронирований пользователя.");
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+        bookingClient.exportBookings(userId, bookingState, owner, response);
     }
-}
\ No newline at end of file
+}
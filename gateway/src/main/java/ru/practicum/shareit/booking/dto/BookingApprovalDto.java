@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+public class BookingApprovalDto {
+    @NotNull(message = "Id бронирования не может быть пустым.")
+    private Long bookingId;
+    @NotNull(message = "Решение по бронированию не может быть пустым.")
+    private Boolean approved;
+}
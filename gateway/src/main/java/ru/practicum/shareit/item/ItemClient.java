@@ -11,6 +11,7 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -43,18 +44,41 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItemsByUserId(Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return get("/" + itemId + "/calendar?from={from}&to={to}", null, Map.of("from", from, "to", to));
+    }
+
+    public ResponseEntity<Object> getAllItemsByUserId(Long userId, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("?after={after}&size={size}", userId, Map.of("after", after, "size", size));
+        }
         return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> getItemsByText(String text, Integer from, Integer size) {
-        return get("/search?text={text}&from={from}&size={size}", null, Map.of(
+    public ResponseEntity<Object> getItemsByText(String text, Boolean fuzzy, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("/search?text={text}&fuzzy={fuzzy}&after={after}&size={size}", null, Map.of(
+                    "text", text,
+                    "fuzzy", fuzzy,
+                    "after", after,
+                    "size", size)
+            );
+        }
+        return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}", null, Map.of(
                 "text", text,
+                "fuzzy", fuzzy,
                 "from", from,
                 "size", size)
         );
     }
 
+    public ResponseEntity<Object> getItemNameSuggestions(String prefix, Integer size) {
+        return get("/autocomplete?prefix={prefix}&size={size}", null, Map.of(
+                "prefix", prefix,
+                "size", size)
+        );
+    }
+
     public ResponseEntity<Object> addComment(CommentDto commentDto, Long itemId, Long userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
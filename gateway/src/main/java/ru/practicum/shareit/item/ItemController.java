@@ -2,17 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.ValidationErrorsHandler;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Slf4j
 @RestController
@@ -56,22 +60,45 @@ public class ItemController {
         return itemClient.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/calendar")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Object> getItemCalendar(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("Получен GET запрос на получение календаря занятости предмета.");
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода календаря должно быть раньше его окончания.");
+        }
+        return itemClient.getItemCalendar(itemId, from, to);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<Object> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                      @RequestParam(name = "after", required = false) String after) {
         log.debug("Получен GET запрос на получение всех предметов по id пользователя.");
-        return itemClient.getAllItemsByUserId(userId, from, size);
+        return itemClient.getAllItemsByUserId(userId, from, size, after);
     }
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<Object> getItemsByText(@RequestParam String text,
+                                                 @RequestParam(name = "fuzzy", defaultValue = "false") Boolean fuzzy,
                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                 @RequestParam(name = "after", required = false) String after) {
         log.debug("Получен GET запрос на получение всех предметов по тексту.");
-        return itemClient.getItemsByText(text, from, size);
+        return itemClient.getItemsByText(text, fuzzy, from, size, after);
+    }
+
+    @GetMapping("/autocomplete")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Object> getItemNameSuggestions(@RequestParam String prefix,
+                                                         @Positive @Max(10) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.debug("Получен GET запрос на получение подсказок названий предметов.");
+        return itemClient.getItemNameSuggestions(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -34,7 +34,10 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllRequests(Long userId, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("/all?after={after}&size={size}", userId, Map.of("after", after, "size", size));
+        }
         return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
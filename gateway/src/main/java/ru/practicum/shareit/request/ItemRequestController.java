@@ -41,9 +41,10 @@ public class ItemRequestController {
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                 @RequestParam(name = "after", required = false) String after) {
         log.debug("Получен GET запрос на получение всех реквестов.");
-        return itemRequestService.getAllRequests(userId, from, size);
+        return itemRequestService.getAllRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.util.BookingMapper;
+import ru.practicum.shareit.util.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +29,7 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,6 +39,13 @@ public class BookingController {
         return BookingMapper.toBookingDtoResponse(bookingService.addBooking(bookingDto, userId));
     }
 
+    @PatchMapping("/batch")
+    public List<BookingApprovalResultDto> updateBookings(@RequestBody List<BookingApprovalDto> approvals,
+                                                         @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен PATCH запрос на изменение статусов нескольких бронирований.");
+        return bookingService.updateBookings(approvals, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoResponse updateBooking(@PathVariable Long bookingId,
                                             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -46,8 +65,14 @@ public class BookingController {
     public List<BookingDtoResponse> getAllBookingsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                            @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
                                                            @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                           @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                           @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                           @RequestParam(name = "after", required = false) String after,
+                                                           HttpServletResponse response) {
         log.debug("Получен GET запрос на получение всех бронирований по id пользователя.");
+        if (after != null) {
+            return bookingService.getAllBookingsByUserId(userId, state, Cursor.decode(after), size)
+                    .writeTo(response, BookingMapper::toBookingDtoResponse);
+        }
         return bookingService.getAllBookingsByUserId(userId, state, from, size).stream()
                 .map(BookingMapper::toBookingDtoResponse)
                 .collect(Collectors.toList());
@@ -57,10 +82,56 @@ public class BookingController {
     public List<BookingDtoResponse> getAllBookingsByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                             @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
                                                             @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                            @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                            @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                            @RequestParam(name = "after", required = false) String after,
+                                                            HttpServletResponse response) {
         log.debug("Получен GET запрос на получение всех бронирований по id владельца.");
+        if (after != null) {
+            return bookingService.getAllBookingsByOwnerId(userId, state, Cursor.decode(after), size)
+                    .writeTo(response, BookingMapper::toBookingDtoResponse);
+        }
         return bookingService.getAllBookingsByOwnerId(userId, state, from, size).stream()
                 .map(BookingMapper::toBookingDtoResponse)
                 .collect(Collectors.toList());
     }
+
+    @GetMapping("/stats")
+    public BookingStatsDto getBookingStatsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен GET запрос на получение количества бронирований пользователя по состояниям.");
+        return bookingService.getBookingStatsByUserId(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public BookingStatsDto getBookingStatsByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.debug("Получен GET запрос на получение количества бронирований владельца по состояниям.");
+        return bookingService.getBookingStatsByOwnerId(userId);
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                               @RequestParam(name = "state", defaultValue = "ALL", required = false) String state,
+                               @RequestParam(name = "owner", defaultValue = "false") Boolean owner,
+                               HttpServletResponse response) throws IOException {
+        log.debug("Получен GET запрос на выгрузку всех бронирований пользователя.");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try {
+            bookingService.exportBookings(userId, state, owner, booking -> writeLine(out, booking));
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        response.flushBuffer();
+    }
+
+    private void writeLine(OutputStream out, Booking booking) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(BookingMapper.toBookingDtoResponse(booking)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,37 +1,94 @@
 package ru.practicum.shareit.booking.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsView;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingCount;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.CalendarIntervalDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
     Booking findByBookerIdAndItemIdAndEndIsBefore(Long userId, Long itemId, LocalDateTime time);
 
-    Booking findByItemIdAndEndBeforeAndStatusNot(Long itemId, LocalDateTime end, BookingStatus status);
+    @Query(value = "SELECT b.booking_id AS id, b.booking_start AS start, b.booking_end AS \"end\", b.booking_item AS itemId, " +
+            "b.booking_booker AS bookerId, b.booking_status AS status " +
+            "FROM (SELECT bm.*, ROW_NUMBER() OVER (PARTITION BY bm.booking_item " +
+            "ORDER BY bm.booking_end DESC, bm.booking_id DESC) AS rn " +
+            "FROM bookings_model bm " +
+            "WHERE bm.booking_item IN (?1) AND bm.booking_end < ?2 AND bm.booking_status <> 'REJECTED') b " +
+            "WHERE b.rn = 1", nativeQuery = true)
+    List<BookingView> findLastBookingsByItemIds(List<Long> itemIds, LocalDateTime now);
 
-    Booking findByItemIdAndStartAfterAndStatus(Long itemId, LocalDateTime start, BookingStatus status);
+    @Query(value = "SELECT b.booking_id AS id, b.booking_start AS start, b.booking_end AS \"end\", b.booking_item AS itemId, " +
+            "b.booking_booker AS bookerId, b.booking_status AS status " +
+            "FROM (SELECT bm.*, ROW_NUMBER() OVER (PARTITION BY bm.booking_item " +
+            "ORDER BY bm.booking_start ASC, bm.booking_id ASC) AS rn " +
+            "FROM bookings_model bm " +
+            "WHERE bm.booking_item IN (?1) AND bm.booking_start > ?2 AND bm.booking_status = 'APPROVED') b " +
+            "WHERE b.rn = 1", nativeQuery = true)
+    List<BookingView> findNextBookingsByItemIds(List<Long> itemIds, LocalDateTime now);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long userId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "FROM Booking b WHERE b.item.id = ?1 AND b.status IN ?2 AND b.end > ?3")
+    List<BookingDto> findAllDtoByItemIdAndStatusInAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                               LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "FROM Booking b WHERE b.status = ?1 AND b.start < ?2 AND b.id > ?3 ORDER BY b.id ASC")
+    List<BookingDto> findAllDtoByStatusAndStartBeforeAndIdAfter(BookingStatus status, LocalDateTime now, Long id,
+                                                                Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime now, Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = ?4, b.version = b.version + 1 " +
+            "WHERE b.id IN ?1 AND b.start < ?2 AND b.status = ?3")
+    int updateStatusByIdInAndStartBefore(Collection<Long> ids, LocalDateTime start, BookingStatus previousStatus,
+                                         BookingStatus status);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
+    @Query(value = "SELECT COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE b.booking_start < ?2 AND b.booking_end > ?2) AS current, " +
+            "COUNT(*) FILTER (WHERE b.booking_end < ?2) AS past, " +
+            "COUNT(*) FILTER (WHERE b.booking_start > ?2) AS future, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'WAITING') AS waiting, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'REJECTED') AS rejected, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'EXPIRED') AS expired " +
+            "FROM bookings_model b WHERE b.booking_booker = ?1", nativeQuery = true)
+    BookingStatsView countByBookerIdPerState(Long userId, LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStatusEqualsOrderByStartDesc(Long userId, BookingStatus status, Pageable pageable);
+    @Query(value = "SELECT COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE b.booking_start < ?2 AND b.booking_end > ?2) AS current, " +
+            "COUNT(*) FILTER (WHERE b.booking_end < ?2) AS past, " +
+            "COUNT(*) FILTER (WHERE b.booking_start > ?2) AS future, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'WAITING') AS waiting, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'REJECTED') AS rejected, " +
+            "COUNT(*) FILTER (WHERE b.booking_status = 'EXPIRED') AS expired " +
+            "FROM bookings_model b WHERE b.booking_owner_id = ?1", nativeQuery = true)
+    BookingStatsView countByOwnerIdPerState(Long userId, LocalDateTime now);
 
-    List<Booking> findAllByItemOwnerOrderByStartDesc(Long userId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CalendarIntervalDto(b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = ?1 AND b.status IN ?2 AND b.start < ?4 AND b.end > ?3 " +
+            "ORDER BY b.start ASC")
+    List<CalendarIntervalDto> findAllIntervalsByItemIdAndStatusInBetween(Long itemId, Collection<BookingStatus> statuses,
+                                                                         LocalDateTime from, LocalDateTime to);
 
-    List<Booking> findAllByItemOwnerAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    Optional<Booking> findWithItemAndBookerById(Long id);
 
-    List<Booking> findAllByItemOwnerAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
+    @EntityGraph(Booking.ITEM_AND_BOOKER_GRAPH)
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Long> ids);
 
-    List<Booking> findAllByItemOwnerAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerAndStatusEquals(Long userId, BookingStatus status, Pageable pageable);
+    @Query("SELECT b.item.id AS itemId, COUNT(b.id) AS bookings FROM Booking b GROUP BY b.item.id")
+    List<ItemBookingCount> countBookingsByItem();
 }
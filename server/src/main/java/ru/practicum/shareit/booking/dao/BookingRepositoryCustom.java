@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findAll(Specification<Booking> specification, Sort sort, long offset, int limit);
+
+    void scanAll(Specification<Booking> specification, Sort sort, int fetchSize, Consumer<Booking> consumer);
+
+    boolean updateStatus(Booking booking, BookingStatus status);
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAll(Specification<Booking> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(root)
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.ITEM_AND_BOOKER_GRAPH))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void scanAll(Specification<Booking> specification, Sort sort, int fetchSize, Consumer<Booking> consumer) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(root)
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(QueryUtils.toOrders(sort, root, builder));
+        try (Stream<Booking> bookings = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.ITEM_AND_BOOKER_GRAPH))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            int scanned = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++scanned % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean updateStatus(Booking booking, BookingStatus status) {
+        int updated = entityManager.createQuery("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+                        "WHERE b.id = :id AND b.start = :start AND b.status = :previousStatus")
+                .setParameter("status", status)
+                .setParameter("id", booking.getId())
+                .setParameter("start", booking.getStart())
+                .setParameter("previousStatus", booking.getStatus())
+                .executeUpdate();
+        if (updated == 0) {
+            entityManager.refresh(booking);
+            return false;
+        }
+        entityManager.detach(booking);
+        booking.setStatus(status);
+        booking.setVersion(booking.getVersion() + 1);
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingState;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+import ru.practicum.shareit.util.Cursor;
+
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class BookingSpecifications {
+    public static final Sort BY_START_DESC = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+
+    public static Specification<Booking> bookerIs(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> ownerIs(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("owner"), userId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (root, query, builder) -> {
+            switch (state) {
+                case ALL:
+                    return builder.conjunction();
+                case CURRENT:
+                    return builder.and(builder.lessThan(root.get("start"), now),
+                            builder.greaterThan(root.get("end"), now));
+                case FUTURE:
+                    return builder.greaterThan(root.get("start"), now);
+                case PAST:
+                    return builder.lessThan(root.get("end"), now);
+                case WAITING:
+                    return builder.equal(root.get("status"), BookingStatus.WAITING);
+                case REJECTED:
+                    return builder.equal(root.get("status"), BookingStatus.REJECTED);
+                case EXPIRED:
+                    return builder.equal(root.get("status"), BookingStatus.EXPIRED);
+                default:
+                    throw new UnsupportedOperationException("Недоступная операция.");
+            }
+        };
+    }
+
+    public static Specification<Booking> afterCursor(Cursor after) {
+        return (root, query, builder) -> {
+            if (after == null) {
+                return builder.conjunction();
+            }
+            LocalDateTime start = after.getTimestamp();
+            return builder.or(builder.lessThan(root.get("start"), start),
+                    builder.and(builder.equal(root.get("start"), start),
+                            builder.lessThan(root.get("id"), after.getId())));
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+
+@Data
+@AllArgsConstructor
+public class BookingApprovalResultDto {
+    private Long bookingId;
+    private BookingStatus status;
+    private String error;
+
+    public static BookingApprovalResultDto success(Booking booking) {
+        return new BookingApprovalResultDto(booking.getId(), booking.getStatus(), null);
+    }
+
+    public static BookingApprovalResultDto failure(Long bookingId, String error) {
+        return new BookingApprovalResultDto(bookingId, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingStatsView {
+    Long getTotal();
+
+    Long getCurrent();
+
+    Long getPast();
+
+    Long getFuture();
+
+    Long getWaiting();
+
+    Long getRejected();
+
+    Long getExpired();
+}
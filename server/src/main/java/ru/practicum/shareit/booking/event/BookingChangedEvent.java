@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final Long bookingId;
+    private final Long itemId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingStatus previousStatus;
+    private final BookingStatus status;
+
+    public static BookingChangedEvent created(Booking booking) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(), booking.getStart(),
+                booking.getEnd(), null, booking.getStatus());
+    }
+
+    public static BookingChangedEvent statusChanged(Booking booking, BookingStatus previousStatus) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(), booking.getStart(),
+                booking.getEnd(), previousStatus, booking.getStatus());
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking.expiration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.overlap.BookingOverlapIndex;
+import ru.practicum.shareit.util.PageableMaker;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.EXPIRED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.expiration.enabled", havingValue = "true")
+public class BookingExpirationJob {
+    private final BookingRepository bookingRepository;
+    private final BookingOverlapIndex bookingOverlapIndex;
+    private final int chunkSize;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    public BookingExpirationJob(BookingRepository bookingRepository,
+                                BookingOverlapIndex bookingOverlapIndex,
+                                MeterRegistry meterRegistry,
+                                @Value("${shareit.booking.expiration.chunk-size}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingOverlapIndex = bookingOverlapIndex;
+        this.chunkSize = chunkSize;
+        this.expiredCounter = Counter.builder("shareit.bookings.expired")
+                .description("Бронирования, не рассмотренные до начала и переведенные в EXPIRED")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("shareit.bookings.expiration.sweep")
+                .description("Время обхода просроченных бронирований")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${shareit.booking.expiration.cron}")
+    public void sweep() {
+        sweepTimer.record(() -> expire(LocalDateTime.now()));
+    }
+
+    void expire(LocalDateTime now) {
+        long lastId = 0L;
+        int expired = 0;
+        List<BookingDto> chunk;
+        do {
+            chunk = bookingRepository.findAllDtoByStatusAndStartBeforeAndIdAfter(WAITING, now, lastId,
+                    PageableMaker.makeFirstPage(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            int updated = bookingRepository.updateStatusByIdInAndStartBefore(chunk.stream()
+                    .map(BookingDto::getId)
+                    .collect(Collectors.toList()), now, WAITING, EXPIRED);
+            bookingOverlapIndex.evict(chunk.stream()
+                    .map(BookingDto::getItemId)
+                    .collect(Collectors.toSet()));
+            expiredCounter.increment(updated);
+            expired += updated;
+            lastId = chunk.get(chunk.size() - 1).getId();
+        } while (chunk.size() == chunkSize);
+        log.info("Просроченных бронирований переведено в статус " + EXPIRED + ": " + expired + ".");
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Заполняет владельца бронирований пачками по диапазону id, каждая пачка фиксируется отдельно. После первого
+ * прохода добавляется непроверенное ограничение CHECK: оно дожидается транзакций, начатых до него, и не пропускает
+ * новые строки без владельца, а второй проход дозаполняет строки, вставленные во время первого.
+ */
+@Slf4j
+@Component
+public class BookingOwnerBackfillMigration extends NonTransactionalMigration {
+    static final int BATCH_SIZE = 10_000;
+
+    private static final String MAX_ID = "SELECT COALESCE(MAX(booking_id), 0) FROM bookings_model";
+    private static final String BACKFILL = "UPDATE bookings_model b SET booking_owner_id = i.item_owner_id " +
+            "FROM items_model i " +
+            "WHERE i.item_id = b.booking_item AND b.booking_owner_id IS NULL " +
+            "AND b.booking_id >= ? AND b.booking_id < ?";
+    private static final String ADD_CHECK = "ALTER TABLE bookings_model ADD CONSTRAINT bookings_owner_not_null " +
+            "CHECK (booking_owner_id IS NOT NULL) NOT VALID";
+
+    public BookingOwnerBackfillMigration() {
+        super("3.1", "booking owner backfill");
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        backfill(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ADD_CHECK);
+        }
+        backfill(connection);
+    }
+
+    private void backfill(Connection connection) throws SQLException {
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(MAX_ID)) {
+            resultSet.next();
+            maxId = resultSet.getLong(1);
+        }
+        long updated = 0;
+        try (PreparedStatement statement = connection.prepareStatement(BACKFILL)) {
+            for (long from = 0; from <= maxId; from += BATCH_SIZE) {
+                statement.setLong(1, from);
+                statement.setLong(2, from + BATCH_SIZE);
+                updated += statement.executeUpdate();
+            }
+        }
+        log.info("Владелец заполнен у " + updated + " бронирований.");
+    }
+}
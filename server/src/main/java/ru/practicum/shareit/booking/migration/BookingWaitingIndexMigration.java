@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Частичный индекс ожидающих бронирований для обхода просроченных. Индекс на секционированной таблице
+ * создается с ON ONLY и остается недействительным, пока индексы секций строятся по одной без блокировки записи
+ * и подключаются к нему. Секции, созданные позже, получают индекс при подключении.
+ */
+@Slf4j
+@Component
+public class BookingWaitingIndexMigration extends NonTransactionalMigration {
+    private static final String INDEX = "bookings_waiting_id_idx";
+    private static final String DEFINITION = "(booking_id, booking_start) WHERE booking_status = 'WAITING'";
+    private static final String PARTITIONS = "SELECT quote_ident(c.relname), " +
+            "quote_ident(c.relname || '_waiting_id_idx') " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'bookings_model'::regclass ORDER BY c.relname";
+
+    public BookingWaitingIndexMigration() {
+        super("7", "booking waiting idx");
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS " + INDEX + " ON ONLY bookings_model " + DEFINITION);
+            List<String[]> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(PARTITIONS)) {
+                while (resultSet.next()) {
+                    partitions.add(new String[]{resultSet.getString(1), resultSet.getString(2)});
+                }
+            }
+            for (String[] partition : partitions) {
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partition[1] + " ON " + partition[0] +
+                        " " + DEFINITION);
+                statement.execute("ALTER INDEX " + INDEX + " ATTACH PARTITION " + partition[1]);
+            }
+            log.info("Индекс " + INDEX + " построен на " + partitions.size() + " секциях бронирований.");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Java-миграция, которую Flyway выполняет вне транзакции: каждый оператор фиксируется сразу, поэтому длинная
+ * миграция не держит блокировки до конца. Версия задается явно, а не именем класса, как у BaseJavaMigration.
+ * Миграции регистрируются как бины, и Spring Boot передает их Flyway вместе со скриптами.
+ */
+abstract class NonTransactionalMigration implements JavaMigration {
+    private final MigrationVersion version;
+    private final String description;
+
+    NonTransactionalMigration(String version, String description) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking.overlap;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Дерево интервалов бронирований одного предмета: декартово дерево по (начало, id), где каждый узел
+ * хранит максимальное окончание в своем поддереве. Проверка пересечения с [start, end) спускается
+ * по одной ветке и стоит O(log n) в среднем, как и вставка и удаление. Узлы дополнительно упорядочены
+ * по окончанию, чтобы завершившиеся интервалы можно было удалить, не обходя все дерево.
+ * Класс не потокобезопасен.
+ */
+public class BookingIntervalTree {
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final NavigableSet<Node> byEnd = new TreeSet<>(Comparator.comparing((Node node) -> node.end)
+            .thenComparing(node -> node.id));
+    private Node root;
+
+    public void put(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        Node node = new Node(bookingId, start, end);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+        nodes.put(bookingId, node);
+        byEnd.add(node);
+    }
+
+    public void remove(Long bookingId) {
+        Node node = nodes.remove(bookingId);
+        if (node != null) {
+            root = remove(root, node);
+            byEnd.remove(node);
+        }
+    }
+
+    public void removeEndedBy(LocalDateTime time) {
+        while (!byEnd.isEmpty() && !byEnd.first().end.isAfter(time)) {
+            remove(byEnd.first().id);
+        }
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && node.end.isAfter(start)) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.compareTo(key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private Node remove(Node node, Node key) {
+        if (node == key) {
+            return merge(node.left, node.right);
+        }
+        if (node.compareTo(key) < 0) {
+            node.right = remove(node.right, key);
+        } else {
+            node.left = remove(node.left, key);
+        }
+        return update(node);
+    }
+
+    private Node update(Node node) {
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+        return node;
+    }
+
+    private static class Node implements Comparable<Node> {
+        private final Long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int result = start.compareTo(other.start);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking.overlap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
+
+/**
+ * Кэш деревьев интервалов по предметам. Монитор карты деревьев держится только на время чтения и записи
+ * карты: бронирования предмета загружаются из базы вне его, а каждое дерево синхронизируется отдельно.
+ * Чтобы загрузка, начавшаяся до изменения бронирований предмета, не попала в кэш устаревшей, изменения
+ * увеличивают версию полосы предмета, и загруженное дерево кэшируется, только если версия не сдвинулась.
+ */
+@Slf4j
+@Component
+public class BookingOverlapIndex {
+    public static final List<BookingStatus> ACTIVE_STATUSES = List.of(APPROVED, WAITING);
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, BookingIntervalTree> trees;
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    public BookingOverlapIndex(BookingRepository bookingRepository,
+                               @Value("${shareit.booking.overlap.max-items}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BookingIntervalTree> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalTree tree = getTree(itemId);
+        synchronized (tree) {
+            tree.removeEndedBy(LocalDateTime.now());
+            return tree.overlaps(start, end);
+        }
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        synchronized (trees) {
+            itemIds.forEach(itemId -> versions[stripe(itemId)]++);
+            trees.keySet().removeAll(itemIds);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingIntervalTree tree;
+        synchronized (trees) {
+            versions[stripe(event.getItemId())]++;
+            tree = trees.get(event.getItemId());
+        }
+        if (tree == null) {
+            return;
+        }
+        synchronized (tree) {
+            if (ACTIVE_STATUSES.contains(event.getStatus())) {
+                tree.put(event.getBookingId(), event.getStart(), event.getEnd());
+            } else {
+                tree.remove(event.getBookingId());
+            }
+        }
+    }
+
+    private BookingIntervalTree getTree(Long itemId) {
+        long loadedAt;
+        synchronized (trees) {
+            BookingIntervalTree tree = trees.get(itemId);
+            if (tree != null) {
+                return tree;
+            }
+            loadedAt = versions[stripe(itemId)];
+        }
+        BookingIntervalTree loaded = load(itemId);
+        synchronized (trees) {
+            if (versions[stripe(itemId)] != loadedAt) {
+                return loaded;
+            }
+            BookingIntervalTree tree = trees.putIfAbsent(itemId, loaded);
+            return tree != null ? tree : loaded;
+        }
+    }
+
+    private BookingIntervalTree load(Long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(itemId, ACTIVE_STATUSES, LocalDateTime.now())
+                .forEach(b -> tree.put(b.getId(), b.getStart(), b.getEnd()));
+        log.debug("Интервалы бронирований предмета с id " + itemId + " загружены: " + tree.size() + ".");
+        return tree;
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), VERSION_STRIPES);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.partition.enabled", havingValue = "true")
+public class BookingPartitionJob {
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int archiveHorizonMonths;
+    private final int legacyBatchSize;
+
+    public BookingPartitionJob(JdbcTemplate jdbcTemplate,
+                               @Value("${shareit.booking.partition.months-ahead}") int monthsAhead,
+                               @Value("${shareit.booking.partition.archive-horizon-months}") int archiveHorizonMonths,
+                               @Value("${shareit.booking.partition.legacy-batch-size}") int legacyBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.archiveHorizonMonths = archiveHorizonMonths;
+        this.legacyBatchSize = legacyBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.booking.partition.cron}")
+    public void run() {
+        LocalDateTime horizon = LocalDateTime.now().minusMonths(archiveHorizonMonths);
+        createPartitions(LocalDate.now().withDayOfMonth(1));
+        archiveLegacy(horizon);
+        archivePartitions(horizon);
+    }
+
+    void createPartitions(LocalDate currentMonth) {
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT bookings_create_partition(?)",
+                    Boolean.class, Date.valueOf(currentMonth.plusMonths(i))))) {
+                created++;
+            }
+        }
+        log.info("Создано секций бронирований: " + created + ".");
+    }
+
+    void archiveLegacy(LocalDateTime horizon) {
+        long lastId = 0L;
+        int batches = 0;
+        Long batchLastId;
+        while ((batchLastId = jdbcTemplate.queryForObject("SELECT bookings_archive_legacy_batch(?, ?, ?)",
+                Long.class, Timestamp.valueOf(horizon), lastId, legacyBatchSize)) != null) {
+            lastId = batchLastId;
+            batches++;
+        }
+        log.info("Историческая секция бронирований пройдена пачками: " + batches + ".");
+    }
+
+    void archivePartitions(LocalDateTime horizon) {
+        Integer archived = jdbcTemplate.queryForObject("SELECT bookings_archive_partitions(?)",
+                Integer.class, Timestamp.valueOf(horizon));
+        log.info("Перенесено в архив секций бронирований: " + archived + ".");
+    }
+}
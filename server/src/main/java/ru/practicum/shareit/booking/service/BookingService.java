@@ -1,18 +1,36 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     Booking addBooking(BookingDto bookingDto, Long userId);
 
     Booking updateBooking(Long bookingId, Long userId, Boolean status);
 
+    List<BookingApprovalResultDto> updateBookings(List<BookingApprovalDto> approvals, Long userId);
+
     Booking getBookingById(Long bookingId, Long userId);
 
     List<Booking> getAllBookingsByUserId(Long userId, String state, Integer from, Integer size);
 
     List<Booking> getAllBookingsByOwnerId(Long userId, String state, Integer from, Integer size);
+
+    CursorPage<Booking> getAllBookingsByUserId(Long userId, String state, Cursor after, Integer size);
+
+    CursorPage<Booking> getAllBookingsByOwnerId(Long userId, String state, Cursor after, Integer size);
+
+    BookingStatsDto getBookingStatsByUserId(Long userId);
+
+    BookingStatsDto getBookingStatsByOwnerId(Long userId);
+
+    void exportBookings(Long userId, String state, Boolean owner, Consumer<Booking> consumer);
 }
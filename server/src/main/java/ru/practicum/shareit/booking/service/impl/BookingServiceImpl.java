@@ -2,23 +2,42 @@ package ru.practicum.shareit.booking.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.util.BookingMapper;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingSpecifications;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.enums.BookingState;
+import ru.practicum.shareit.booking.overlap.BookingOverlapIndex;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exceptions.*;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.PageableMaker;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.*;
 
@@ -26,9 +45,14 @@ import static ru.practicum.shareit.booking.model.enums.BookingStatus.*;
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingOverlapIndex bookingOverlapIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -36,42 +60,95 @@ public class BookingServiceImpl implements BookingService {
         checkItemAvailability(bookingDto.getItemId());
         checkItemOwnerForSelfBooking(bookingDto.getItemId(), userId);
         checkBookingEnd(bookingDto);
+        checkBookingOverlap(bookingDto);
         Booking booking = BookingMapper.toBooking(bookingDto);
         booking.setBooker(userService.getUserById(userId));
         booking.setItem(itemService.getItemById(bookingDto.getItemId()));
+        booking.setOwner(booking.getItem().getOwner());
         booking.setStatus(WAITING);
+        Booking addedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(addedBooking));
         log.info("Бронирование с id пользователя " + booking.getBooker().getId() + " и id предмета " + booking.getItem().getId() + " было добавлено.");
-        return bookingRepository.save(booking);
+        return addedBooking;
     }
 
     @Override
     @Transactional
     public Booking updateBooking(Long bookingId, Long userId, Boolean status) {
-        userService.getUserById(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        userService.checkUserExists(userId);
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
                 new EntityNotFoundException("Бронь с id " + bookingId + " не найдена."));
         checkItemOwner(booking, userId);
-        if (booking.getStatus().equals(WAITING) && status) {
-            booking.setStatus(APPROVED);
-        } else if (booking.getStatus().equals(WAITING) && !status) {
-            booking.setStatus(REJECTED);
-        } else if (booking.getStatus().equals(APPROVED) && status) {
-            throw new IllegalArgumentException("Бронирование уже одобрено.");
-        } else if (booking.getStatus().equals(APPROVED) && !status) {
-            booking.setStatus(REJECTED);
+        for (int attempt = 1; ; attempt++) {
+            BookingStatus previousStatus = booking.getStatus();
+            BookingStatus newStatus = nextStatus(previousStatus, status);
+            if (newStatus == previousStatus) {
+                break;
+            }
+            if (updateStatus(booking, newStatus)) {
+                eventPublisher.publishEvent(BookingChangedEvent.statusChanged(booking, previousStatus));
+                break;
+            }
+            if (attempt == MAX_STATUS_UPDATE_ATTEMPTS) {
+                throw new EntityConflictException("Статус бронирования с id " + bookingId +
+                        " был изменен параллельным запросом.");
+            }
         }
         log.info("У бронирования с id " + bookingId + " был изменен статус на " + booking.getStatus() + ".");
         return booking;
     }
 
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> updateBookings(List<BookingApprovalDto> approvals, Long userId) {
+        userService.checkUserExists(userId);
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(approvals.stream()
+                        .map(BookingApprovalDto::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<BookingApprovalResultDto> results = new ArrayList<>();
+        List<BookingChangedEvent> events = new ArrayList<>();
+        Set<Long> processed = new HashSet<>();
+        for (BookingApprovalDto approval : approvals) {
+            Booking booking = bookings.get(approval.getBookingId());
+            try {
+                if (!processed.add(approval.getBookingId())) {
+                    throw new IllegalArgumentException("Бронь с id " + approval.getBookingId() +
+                            " указана в запросе повторно.");
+                }
+                if (booking == null) {
+                    throw new EntityNotFoundException("Бронь с id " + approval.getBookingId() + " не найдена.");
+                }
+                checkItemOwner(booking, userId);
+                BookingStatus previousStatus = booking.getStatus();
+                booking.setStatus(nextStatus(previousStatus, approval.getApproved()));
+                if (booking.getStatus() != previousStatus) {
+                    events.add(BookingChangedEvent.statusChanged(booking, previousStatus));
+                }
+                results.add(BookingApprovalResultDto.success(booking));
+            } catch (EntityNotFoundException | ForbiddenAccessException | IllegalArgumentException e) {
+                results.add(BookingApprovalResultDto.failure(approval.getBookingId(), e.getMessage()));
+            }
+        }
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityConflictException("Одобряемые бронирования пересекаются с уже одобренными.");
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new EntityConflictException("Статусы бронирований были изменены параллельным запросом.");
+        }
+        events.forEach(eventPublisher::publishEvent);
+        log.info("Пользователь с id " + userId + " изменил статусы " + approvals.size() + " бронирований.");
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Booking getBookingById(Long bookingId, Long userId) {
-        userService.getUserById(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        userService.checkUserExists(userId);
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
                 new EntityNotFoundException("Бронь с id " + bookingId + " не найдена."));
-        Item item = itemService.getItemById(booking.getItem().getId());
-        if (booking.getBooker().getId().equals(userId) || item.getOwner().equals(userId)) {
+        if (booking.getBooker().getId().equals(userId) || booking.getOwner().equals(userId)) {
             return booking;
         } else {
             throw new ForbiddenAccessException("Пользователь с id " + userId +
@@ -82,53 +159,97 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<Booking> getAllBookingsByUserId(Long userId, String state, Integer from, Integer size) {
-        userService.getUserById(userId);
-        BookingState stateEnum = checkState(state);
-        Pageable pageable = PageableMaker.makePage(from, size);
-        switch (stateEnum) {
-            case ALL:
-                return bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable);
-            case CURRENT:
-                return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
-            case FUTURE:
-                return bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-            case PAST:
-                return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-            case WAITING:
-                return bookingRepository.findAllByBookerIdAndStatusEqualsOrderByStartDesc(userId, WAITING, pageable);
-            case REJECTED:
-                return bookingRepository.findAllByBookerIdAndStatusEqualsOrderByStartDesc(userId, REJECTED, pageable);
-            default:
-                throw new UnsupportedOperationException("Недоступная операция.");
-        }
+        userService.checkUserExists(userId);
+        return findBookings(BookingSpecifications.bookerIs(userId), checkState(state), from, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Booking> getAllBookingsByOwnerId(Long userId, String state, Integer from, Integer size) {
-        userService.getUserById(userId);
-        BookingState stateEnum = checkState(state);
+        userService.checkUserExists(userId);
+        return findBookings(BookingSpecifications.ownerIs(userId), checkState(state), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Booking> getAllBookingsByUserId(Long userId, String state, Cursor after, Integer size) {
+        userService.checkUserExists(userId);
+        return findBookingsAfter(BookingSpecifications.bookerIs(userId), checkState(state), after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Booking> getAllBookingsByOwnerId(Long userId, String state, Cursor after, Integer size) {
+        userService.checkUserExists(userId);
+        return findBookingsAfter(BookingSpecifications.ownerIs(userId), checkState(state), after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingStatsDto getBookingStatsByUserId(Long userId) {
+        userService.checkUserExists(userId);
+        return BookingMapper.toBookingStatsDto(bookingRepository.countByBookerIdPerState(userId, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingStatsDto getBookingStatsByOwnerId(Long userId) {
+        userService.checkUserExists(userId);
+        return BookingMapper.toBookingStatsDto(bookingRepository.countByOwnerIdPerState(userId, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(Long userId, String state, Boolean owner, Consumer<Booking> consumer) {
+        userService.checkUserExists(userId);
+        BookingState bookingState = checkState(state);
+        Specification<Booking> user = owner ? BookingSpecifications.ownerIs(userId) : BookingSpecifications.bookerIs(userId);
+        Specification<Booking> specification = user.and(BookingSpecifications.inState(bookingState, LocalDateTime.now()));
+        bookingRepository.scanAll(specification, BookingSpecifications.BY_START_DESC, EXPORT_FETCH_SIZE, consumer);
+    }
+
+    private List<Booking> findBookings(Specification<Booking> user, BookingState state, Integer from, Integer size) {
         Pageable pageable = PageableMaker.makePage(from, size);
-        switch (stateEnum) {
-            case ALL:
-                return bookingRepository.findAllByItemOwnerOrderByStartDesc(userId, pageable);
-            case CURRENT:
-                return bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfterOrderByStartDesc(userId, LocalDateTime.now(), LocalDateTime.now(), pageable);
-            case FUTURE:
-                return bookingRepository.findAllByItemOwnerAndStartAfterOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-            case PAST:
-                return bookingRepository.findAllByItemOwnerAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageable);
-            case WAITING:
-                return bookingRepository.findAllByItemOwnerAndStatusEquals(userId, WAITING, pageable);
-            case REJECTED:
-                return bookingRepository.findAllByItemOwnerAndStatusEquals(userId, REJECTED, pageable);
-            default:
-                throw new UnsupportedOperationException("Недоступная операция.");
+        Specification<Booking> specification = user.and(BookingSpecifications.inState(state, LocalDateTime.now()));
+        return bookingRepository.findAll(specification, BookingSpecifications.BY_START_DESC, pageable.getOffset(),
+                pageable.getPageSize());
+    }
+
+    private CursorPage<Booking> findBookingsAfter(Specification<Booking> user, BookingState state, Cursor after,
+                                                  Integer size) {
+        Pageable pageable = PageableMaker.makeFirstPage(size);
+        Specification<Booking> specification = user
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()))
+                .and(BookingSpecifications.afterCursor(after));
+        List<Booking> bookings = bookingRepository.findAll(specification, BookingSpecifications.BY_START_DESC, 0,
+                pageable.getPageSize());
+        return CursorPage.of(bookings, size, b -> Cursor.of(b.getStart(), b.getId()));
+    }
+
+    private BookingStatus nextStatus(BookingStatus current, Boolean status) {
+        if (current.equals(WAITING)) {
+            return status ? APPROVED : REJECTED;
+        } else if (current.equals(APPROVED) && status) {
+            throw new IllegalArgumentException("Бронирование уже одобрено.");
+        } else if (current.equals(EXPIRED)) {
+            throw new IllegalArgumentException("Бронирование просрочено.");
+        } else if (current.equals(APPROVED)) {
+            return REJECTED;
+        }
+        return current;
+    }
+
+    private boolean updateStatus(Booking booking, BookingStatus status) {
+        try {
+            return bookingRepository.updateStatus(booking, status);
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityConflictException("Предмет с id " + booking.getItem().getId() +
+                    " уже забронирован на пересекающийся период.");
         }
     }
 
     private void checkItemOwner(Booking booking, Long userId) {
-        if (!booking.getItem().getOwner().equals(userId)) {
+        if (!booking.getOwner().equals(userId)) {
             throw new ForbiddenAccessException("Пользователь с id " + userId +
                     " не имеет прав доступа к изменению статуса бронирования с id " + booking.getId() + ".");
         }
@@ -152,6 +273,13 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void checkBookingOverlap(BookingDto bookingDto) {
+        if (bookingOverlapIndex.overlaps(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new EntityConflictException("Предмет с id " + bookingDto.getItemId() +
+                    " уже забронирован на пересекающийся период.");
+        }
+    }
+
     private BookingState checkState(String state) {
         try {
             return BookingState.valueOf(state);
@@ -3,6 +3,9 @@ package ru.practicum.shareit.booking.util;
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatsView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 @UtilityClass
@@ -40,4 +43,28 @@ public class BookingMapper {
                 booking.getStatus()
         );
     }
+
+    public static BookingDto toBookingDto(BookingView booking) {
+        if (booking == null) return null;
+        return new BookingDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getItemId(),
+                booking.getBookerId(),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingStatsDto toBookingStatsDto(BookingStatsView stats) {
+        return new BookingStatsDto(
+                stats.getTotal(),
+                stats.getCurrent(),
+                stats.getPast(),
+                stats.getFuture(),
+                stats.getWaiting(),
+                stats.getRejected(),
+                stats.getExpired()
+        );
+    }
 }
@@ -1,10 +1,18 @@
 package ru.practicum.shareit.comment.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.comment.dto.CommentDto(c.id, c.text, a.name, c.itemId, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.itemId IN ?1")
+    List<CommentDto> findAllDtoByItemIdIn(List<Long> itemIds);
 }
@@ -22,7 +22,7 @@ public class Comment {
     private Long id;
     @Column(name = "comment_text", length = 5000)
     private String text;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "comment_user_id")
     private User author;
     @Column(name = "comment_item_id")
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public class EntityCacheRegionFactory extends JCacheRegionFactory {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String MAX_SIZE = "shareit.entity-cache.max-size";
+    public static final String TTL = "shareit.entity-cache.ttl";
+
+    private final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map properties) {
+        configuration.setMaximumSize(OptionalLong.of(Long.parseLong(properties.get(MAX_SIZE).toString())));
+        configuration.setExpireAfterWrite(OptionalLong.of(
+                DurationStyle.detectAndParse(properties.get(TTL).toString()).toNanos()));
+        configuration.setStoreByValue(false);
+        return getCachingProvider(properties).getCacheManager(
+                URI.create("shareit-entities-" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        return getCacheManager().createCache(regionName, configuration);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class EntityConflictException extends RuntimeException {
+    public EntityConflictException(final String message) {
+        super(message);
+    }
+}
@@ -32,6 +32,13 @@ public class ErrorHandler {
         return new ErrorResponse("Такой объект уже существует.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflict(final EntityConflictException e) {
+        log.error(e.getMessage());
+        return new ErrorResponse("Конфликт с текущим состоянием объекта.", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFound(final EntityNotFoundException e) {
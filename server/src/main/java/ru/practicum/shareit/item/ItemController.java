@@ -2,15 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.util.ItemMapper;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -53,26 +61,61 @@ public class ItemController {
         return itemService.getItemDtoById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/calendar")
+    @ResponseStatus(HttpStatus.OK)
+    public ItemCalendarDto getItemCalendar(@PathVariable Long itemId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("Получен GET запрос на получение календаря занятости предмета.");
+        return itemService.getItemCalendar(itemId, from, to);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<ItemDtoWithBooking> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                        @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                        @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                        @RequestParam(name = "after", required = false) String after,
+                                                        HttpServletResponse response) {
         log.debug("Получен GET запрос на получение всех предметов по id пользователя.");
+        if (after != null) {
+            return itemService.getAllItemsByUserId(userId, Cursor.decode(after), size)
+                    .writeTo(response, Function.identity());
+        }
         return itemService.getAllItemsByUserId(userId, from, size);
     }
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
     public List<ItemDto> getItemsByText(@RequestParam String text,
+                                        @RequestParam(name = "fuzzy", defaultValue = "false") Boolean fuzzy,
                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                        @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                        @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                        @RequestParam(name = "after", required = false) String after,
+                                        HttpServletResponse response) {
         log.debug("Получен GET запрос на получение всех предметов по тексту.");
-        return itemService.getItemsByText(text, from, size).stream()
+        if (after != null) {
+            CursorPage<Item> page = fuzzy
+                    ? itemService.getItemsByFuzzyText(text, Cursor.decode(after), size)
+                    : itemService.getItemsByText(text, Cursor.decode(after), size);
+            return page.writeTo(response, ItemMapper::toItemDto);
+        }
+        List<Item> items = fuzzy
+                ? itemService.getItemsByFuzzyText(text, from, size)
+                : itemService.getItemsByText(text, from, size);
+        return items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/autocomplete")
+    @ResponseStatus(HttpStatus.OK)
+    public List<String> getItemNameSuggestions(@RequestParam String prefix,
+                                               @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.debug("Получен GET запрос на получение подсказок названий предметов.");
+        return itemService.getItemNameSuggestions(prefix, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestBody CommentDto commentDto,
                                  @PathVariable Long itemId,
@@ -3,9 +3,12 @@ package ru.practicum.shareit.item.dao;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.dto.ItemSearchHit;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item i " +
@@ -13,7 +16,37 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
     List<Item> findByText(String text, Pageable pageable);
 
-    List<Item> findAllByOwner(Long userId, Pageable pageable);
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = true AND (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
+            "OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) AND i.id > ?2 " +
+            "ORDER BY i.id")
+    List<Item> findByTextAfter(String text, Long id, Pageable pageable);
+
+    @Query(value = "SELECT i.item_id, i.item_name, i.item_description, i.item_availability, i.item_owner_id, i.item_request_id " +
+            "FROM items_model i, to_tsquery('russian', ?1) q " +
+            "WHERE i.item_availability = true AND i.item_search @@ q " +
+            "ORDER BY ts_rank(i.item_search, q) DESC, i.item_id", nativeQuery = true)
+    List<Item> findByFullText(String query, Pageable pageable);
+
+    @Query(value = "SELECT i.item_id AS id, ts_rank(i.item_search, q) AS rank " +
+            "FROM items_model i, to_tsquery('russian', ?1) q " +
+            "WHERE i.item_availability = true AND i.item_search @@ q " +
+            "AND (ts_rank(i.item_search, q) < CAST(?2 AS real) " +
+            "OR (ts_rank(i.item_search, q) = CAST(?2 AS real) AND i.item_id > ?3)) " +
+            "ORDER BY rank DESC, i.item_id", nativeQuery = true)
+    List<ItemSearchHit> findByFullTextAfter(String query, Float rank, Long id, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDtoWithBooking(i.id, i.name, i.description, i.available, " +
+            "i.owner, i.requestId) FROM Item i WHERE i.owner = ?1 ORDER BY i.id")
+    List<ItemDtoWithBooking> findAllDtoByOwner(Long userId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDtoWithBooking(i.id, i.name, i.description, i.available, " +
+            "i.owner, i.requestId) FROM Item i WHERE i.owner = ?1 AND i.id > ?2 ORDER BY i.id")
+    List<ItemDtoWithBooking> findAllDtoByOwnerAfter(Long userId, Long id, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDtoWithBooking(i.id, i.name, i.description, i.available, " +
+            "i.owner, i.requestId) FROM Item i WHERE i.id = ?1")
+    Optional<ItemDtoWithBooking> findDtoById(Long itemId);
 
     List<Item> findAllByRequestId(Long requestId);
 }
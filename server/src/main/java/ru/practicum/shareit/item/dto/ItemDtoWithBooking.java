@@ -19,4 +19,8 @@ public class ItemDtoWithBooking {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private List<CommentDto> comments;
+
+    public ItemDtoWithBooking(Long id, String name, String description, Boolean available, Long owner, Long requestId) {
+        this(id, name, description, available, owner, requestId, null, null, null);
+    }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemSearchHit {
+    Long getId();
+
+    Float getRank();
+}
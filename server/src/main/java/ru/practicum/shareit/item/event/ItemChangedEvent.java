@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final Long itemId;
+    private final ItemDto before;
+    private final ItemDto after;
+
+    public static ItemChangedEvent added(ItemDto item) {
+        return new ItemChangedEvent(item.getId(), null, item);
+    }
+
+    public static ItemChangedEvent updated(ItemDto before, ItemDto after) {
+        return new ItemChangedEvent(after.getId(), before, after);
+    }
+
+    public static ItemChangedEvent deleted(ItemDto item) {
+        return new ItemChangedEvent(item.getId(), item, null);
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.search.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.util.ItemMapper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemSearchCache {
+    private static final String CACHE_NAME = "itemSearch";
+    private static final int STEM_PREFIX_LENGTH = 3;
+
+    private final Cache<SearchKey, List<ItemDto>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(@Value("${shareit.search.cache.max-size}") long maxSize,
+                           @Value("${shareit.search.cache.ttl}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public List<Item> get(String text, Pageable pageable, Supplier<List<Item>> loader) {
+        SearchKey key = new SearchKey(normalize(text), pageable.getOffset(), pageable.getPageSize());
+        List<ItemDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.stream()
+                    .map(ItemMapper::toItem)
+                    .collect(Collectors.toList());
+        }
+        long loadedAt = generation.get();
+        List<Item> items = loader.get();
+        if (generation.get() == loadedAt) {
+            cache.put(key, items.stream()
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return items;
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        generation.incrementAndGet();
+        Set<String> before = searchableWords(event.getBefore());
+        Set<String> after = searchableWords(event.getAfter());
+        cache.asMap().entrySet().removeIf(e -> e.getValue().stream().anyMatch(i -> i.getId().equals(event.getItemId()))
+                || mayMatch(e.getKey().words, before)
+                || mayMatch(e.getKey().words, after));
+    }
+
+    private static boolean mayMatch(String[] queryWords, Set<String> itemWords) {
+        if (itemWords.isEmpty()) {
+            return false;
+        }
+        return Arrays.stream(queryWords)
+                .allMatch(w -> itemWords.stream().anyMatch(t -> t.contains(w) || sharesStem(t, w)));
+    }
+
+    private static boolean sharesStem(String first, String second) {
+        return first.length() >= STEM_PREFIX_LENGTH && second.length() >= STEM_PREFIX_LENGTH
+                && first.regionMatches(0, second, 0, STEM_PREFIX_LENGTH);
+    }
+
+    private static Set<String> searchableWords(ItemDto item) {
+        if (item == null || !item.getAvailable()) {
+            return Set.of();
+        }
+        return Arrays.stream(words(item.getName() + " " + item.getDescription()))
+                .collect(Collectors.toSet());
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] words(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @EqualsAndHashCode(of = {"text", "offset", "size"})
+    private static class SearchKey {
+        private final String text;
+        private final long offset;
+        private final int size;
+        private final String[] words;
+
+        private SearchKey(String text, long offset, int size) {
+            this.text = text;
+            this.offset = offset;
+            this.size = size;
+            this.words = words(text);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.item.search.fuzzy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.PageIterator;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FuzzyItemIndex {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int GRAM_SIZE = 3;
+    private static final char PADDING = '$';
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<String>> itemTerms = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            PageIterator.forEach(itemRepository::findAll, REBUILD_BATCH_SIZE, Sort.by("id"), i -> {
+                if (i.getAvailable()) {
+                    putItem(i.getId(), i.getName(), i.getDescription());
+                }
+            });
+            log.info("Нечеткий индекс предметов построен, термов: " + postings.size() + ".");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, Pageable pageable) {
+        return rank(text).stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public CursorPage<Long> search(String text, Cursor after, int size) {
+        List<Map.Entry<Long, Integer>> hits = rank(text).stream()
+                .filter(e -> after == null || e.getValue() > after.getScore()
+                        || e.getValue() == after.getScore() && e.getKey() > after.getId())
+                .limit(size)
+                .collect(Collectors.toList());
+        CursorPage<Map.Entry<Long, Integer>> page = CursorPage.of(hits, size,
+                e -> Cursor.of(e.getValue(), e.getKey()));
+        return new CursorPage<>(hits.stream()
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()), page.getNext());
+    }
+
+    private List<Map.Entry<Long, Integer>> rank(String text) {
+        Set<String> words = tokenize(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distances = null;
+            for (String word : words) {
+                Map<Long, Integer> matches = match(word);
+                if (distances == null) {
+                    distances = matches;
+                } else {
+                    distances.keySet().retainAll(matches.keySet());
+                    distances.replaceAll((id, distance) -> distance + matches.get(id));
+                }
+                if (distances.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return distances.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeItem(event.getItemId());
+            if (!event.isDeleted() && event.getAfter().getAvailable()) {
+                putItem(event.getItemId(), event.getAfter().getName(), event.getAfter().getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> match(String word) {
+        int maxDistance = maxDistance(word.length());
+        Set<String> wordGrams = grams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : wordGrams) {
+            grams.getOrDefault(gram, Set.of()).forEach(term -> shared.merge(term, 1, Integer::sum));
+        }
+        int threshold = Math.max(1, wordGrams.size() - GRAM_SIZE * maxDistance);
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(word, maxDistance);
+        Map<Long, Integer> matches = new HashMap<>();
+        shared.forEach((term, count) -> {
+            if (count < threshold) {
+                return;
+            }
+            int distance = automaton.distance(term);
+            if (distance >= 0) {
+                postings.get(term).forEach(id -> matches.merge(id, distance, Math::min));
+            }
+        });
+        return matches;
+    }
+
+    private void putItem(Long itemId, String name, String description) {
+        Set<String> terms = tokenize(name + " " + description);
+        itemTerms.put(itemId, terms);
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> {
+                grams(t).forEach(gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(t));
+                return new HashSet<>();
+            }).add(itemId);
+        }
+    }
+
+    private void removeItem(Long itemId) {
+        Set<String> terms = itemTerms.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            ids.remove(itemId);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                for (String gram : grams(term)) {
+                    Set<String> gramTerms = grams.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 6 ? 1 : 2;
+    }
+
+    private static Set<String> grams(String term) {
+        String padded = PADDING + term + PADDING;
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+            result.add(padded.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    private static Set<String> tokenize(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
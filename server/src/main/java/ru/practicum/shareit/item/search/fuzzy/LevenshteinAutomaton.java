@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Автомат Левенштейна для слова с ограниченным числом правок. Состояние автомата — строка матрицы
+ * расстояний, посчитанная только в полосе шириной 2 * maxDistance + 1, поэтому проверка терма стоит
+ * O(длина терма * maxDistance) и прерывается, как только все состояния вышли за порог.
+ */
+public class LevenshteinAutomaton {
+    private final String word;
+    private final int maxDistance;
+
+    public LevenshteinAutomaton(String word, int maxDistance) {
+        this.word = word;
+        this.maxDistance = maxDistance;
+    }
+
+    public int distance(String term) {
+        int n = word.length();
+        if (Math.abs(term.length() - n) > maxDistance) {
+            return -1;
+        }
+        int dead = maxDistance + 1;
+        int[] state = new int[n + 1];
+        int[] next = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            state[i] = Math.min(i, dead);
+        }
+        for (int j = 1; j <= term.length(); j++) {
+            char c = term.charAt(j - 1);
+            int from = Math.max(1, j - maxDistance);
+            int to = Math.min(n, j + maxDistance);
+            Arrays.fill(next, dead);
+            next[0] = Math.min(j, dead);
+            int best = next[0];
+            for (int i = from; i <= to; i++) {
+                int cost = word.charAt(i - 1) == c ? 0 : 1;
+                int value = Math.min(state[i - 1] + cost, Math.min(state[i] + 1, next[i - 1] + 1));
+                next[i] = Math.min(value, dead);
+                best = Math.min(best, next[i]);
+            }
+            if (best > maxDistance) {
+                return -1;
+            }
+            int[] swap = state;
+            state = next;
+            next = swap;
+        }
+        return state[n] <= maxDistance ? state[n] : -1;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemSearchHit;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.PageableMaker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRepository.findByFullText(query, pageable);
+    }
+
+    @Override
+    public CursorPage<Item> search(String text, Cursor after, int size) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        List<ItemSearchHit> hits = itemRepository.findByFullTextAfter(query,
+                after == null ? Float.POSITIVE_INFINITY : after.getScore(),
+                after == null ? 0L : after.getId(),
+                PageableMaker.makeFirstPage(size));
+        Map<Long, Item> items = itemRepository.findAllById(hits.stream()
+                        .map(ItemSearchHit::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Cursor next = CursorPage.of(hits, size, h -> Cursor.of(h.getRank(), h.getId())).getNext();
+        return new CursorPage<>(hits.stream()
+                .map(h -> items.get(h.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()), next);
+    }
+
+    // Из запроса остаются только буквы и цифры, поэтому пользовательский ввод не ломает синтаксис to_tsquery.
+    static String toPrefixQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
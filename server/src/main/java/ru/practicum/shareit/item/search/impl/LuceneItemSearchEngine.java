@@ -0,0 +1,240 @@
+package ru.practicum.shareit.item.search.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ru.RussianAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.PageIterator;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "lucene")
+public class LuceneItemSearchEngine implements ItemSearchEngine {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final float NAME_BOOST = 2.0f;
+    private static final String ID = "id";
+    private static final String ID_SORT = "idSort";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String OWNER = "owner";
+    private static final String REQUEST_ID = "requestId";
+    private static final org.apache.lucene.search.Sort BY_SCORE = new org.apache.lucene.search.Sort(
+            SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG));
+
+    private final ItemRepository itemRepository;
+    private final Path indexPath;
+    private final Analyzer analyzer = new RussianAnalyzer();
+    private MMapDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public LuceneItemSearchEngine(ItemRepository itemRepository,
+                                  @Value("${shareit.search.lucene.path}") Path indexPath) {
+        this.itemRepository = itemRepository;
+        this.indexPath = indexPath;
+    }
+
+    @PostConstruct
+    public void rebuild() throws IOException {
+        Files.createDirectories(indexPath);
+        directory = new MMapDirectory(indexPath);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        PageIterator.forEach(itemRepository::findAll, REBUILD_BATCH_SIZE, Sort.by("id"), this::addDocument);
+        writer.commit();
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Поисковый индекс предметов перестроен, документов: " + writer.getDocStats().numDocs + ".");
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int offset = (int) pageable.getOffset();
+                ScoreDoc[] hits = searcher.search(buildQuery(terms), offset + pageable.getPageSize()).scoreDocs;
+                List<Item> items = new ArrayList<>();
+                for (int i = offset; i < hits.length; i++) {
+                    items.add(toItem(searcher.storedFields().document(hits[i].doc)));
+                }
+                return items;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CursorPage<Item> search(String text, Cursor after, int size) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                FieldDoc afterDoc = after == null ? null : new FieldDoc(searcher.getIndexReader().maxDoc() - 1,
+                        after.getScore(), new Object[]{after.getScore(), after.getId()});
+                ScoreDoc[] hits = searcher.searchAfter(afterDoc, buildQuery(terms), size, BY_SCORE, true).scoreDocs;
+                List<Item> items = new ArrayList<>();
+                for (ScoreDoc hit : hits) {
+                    items.add(toItem(searcher.storedFields().document(hit.doc)));
+                }
+                Cursor next = null;
+                if (hits.length == size) {
+                    FieldDoc last = (FieldDoc) hits[hits.length - 1];
+                    next = Cursor.of((Float) last.fields[0], (Long) last.fields[1]);
+                }
+                return new CursorPage<>(items, next);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) throws IOException {
+        Term idTerm = new Term(ID, String.valueOf(event.getItemId()));
+        if (event.isDeleted()) {
+            writer.deleteDocuments(idTerm);
+        } else {
+            writer.updateDocument(idTerm, toDocument(event.getAfter()));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    private Query buildQuery(List<String> terms) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(AVAILABLE, Boolean.TRUE.toString())), BooleanClause.Occur.FILTER);
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, term)), NAME_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(NAME, term)), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private void addDocument(Item item) {
+        try {
+            writer.addDocument(toDocument(item));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document toDocument(Item item) {
+        return toDocument(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner(), item.getRequestId());
+    }
+
+    private Document toDocument(ItemDto item) {
+        return toDocument(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner(), item.getRequestId());
+    }
+
+    private Document toDocument(Long id, String name, String description, Boolean available,
+                                Long owner, Long requestId) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, id));
+        document.add(new TextField(NAME, name, Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, description, Field.Store.YES));
+        document.add(new StringField(AVAILABLE, available.toString(), Field.Store.YES));
+        document.add(new StoredField(OWNER, owner));
+        if (requestId != null) {
+            document.add(new StoredField(REQUEST_ID, requestId));
+        }
+        return document;
+    }
+
+    private Item toItem(Document document) {
+        IndexableField requestId = document.getField(REQUEST_ID);
+        return new Item(
+                Long.valueOf(document.get(ID)),
+                document.get(NAME),
+                document.get(DESCRIPTION),
+                Boolean.valueOf(document.get(AVAILABLE)),
+                document.getField(OWNER).numericValue().longValue(),
+                requestId == null ? null : requestId.numericValue().longValue()
+        );
+    }
+}
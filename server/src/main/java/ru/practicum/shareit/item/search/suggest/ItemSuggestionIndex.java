@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.search.suggest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.util.PageIterator;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestionIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, IndexedName> names = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        Map<Long, Long> bookings = new HashMap<>();
+        bookingRepository.countBookingsByItem().forEach(c -> bookings.put(c.getItemId(), c.getBookings()));
+        lock.writeLock().lock();
+        try {
+            PageIterator.forEach(itemRepository::findAll, REBUILD_BATCH_SIZE, Sort.by("id"),
+                    i -> putItem(i.getId(), i.getName(), i.getAvailable(), bookings.getOrDefault(i.getId(), 0L)));
+            log.info("Индекс подсказок названий предметов построен, названий: " + names.size() + ".");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.top(key, Math.min(limit, MAX_SUGGESTIONS)).stream()
+                    .map(Suggestion::getText)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = removeItem(event.getItemId());
+            if (!event.isDeleted()) {
+                putItem(event.getItemId(), event.getAfter().getName(), event.getAfter().getAvailable(),
+                        previous == null ? 0L : previous.bookings);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!event.isCreated()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IndexedItem item = items.get(event.getItemId());
+            if (item != null) {
+                item.bookings++;
+                IndexedName name = names.get(item.key);
+                if (name != null && item.available) {
+                    name.weight++;
+                    trie.put(item.key, name.text, name.weight);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putItem(Long itemId, String text, boolean available, long bookings) {
+        String key = normalize(text);
+        items.put(itemId, new IndexedItem(key, available, bookings));
+        if (!available || key.isEmpty()) {
+            return;
+        }
+        IndexedName name = names.computeIfAbsent(key, k -> new IndexedName(text.trim()));
+        name.itemIds.add(itemId);
+        name.weight += bookings;
+        trie.put(key, name.text, name.weight);
+    }
+
+    private IndexedItem removeItem(Long itemId) {
+        IndexedItem item = items.remove(itemId);
+        if (item == null || !item.available) {
+            return item;
+        }
+        IndexedName name = names.get(item.key);
+        if (name == null) {
+            return item;
+        }
+        name.itemIds.remove(itemId);
+        name.weight -= item.bookings;
+        if (name.itemIds.isEmpty()) {
+            names.remove(item.key);
+            trie.remove(item.key);
+        } else {
+            trie.put(item.key, name.text, name.weight);
+        }
+        return item;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static class IndexedItem {
+        private final String key;
+        private final boolean available;
+        private long bookings;
+
+        private IndexedItem(String key, boolean available, long bookings) {
+            this.key = key;
+            this.available = available;
+            this.bookings = bookings;
+        }
+    }
+
+    private static class IndexedName {
+        private final String text;
+        private final Set<Long> itemIds = new HashSet<>();
+        private long weight;
+
+        private IndexedName(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.search.suggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Suggestion {
+    private final String key;
+    private final String text;
+    private final long weight;
+}
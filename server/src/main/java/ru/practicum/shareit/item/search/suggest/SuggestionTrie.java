@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.search.suggest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Сжатое префиксное дерево подсказок. Каждый узел хранит заранее посчитанный top-K своего поддерева,
+ * поэтому запрос стоит O(длина префикса), а запись пересчитывает top-K только на пути от ключа к корню.
+ * Класс не потокобезопасен.
+ */
+public class SuggestionTrie {
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator.comparingLong(Suggestion::getWeight)
+            .reversed()
+            .thenComparing(Suggestion::getKey);
+
+    private final int topSize;
+    private final Node root = new Node("");
+
+    public SuggestionTrie(int topSize) {
+        this.topSize = topSize;
+    }
+
+    public void put(String key, String text, long weight) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                child = new Node(rest);
+                node.children.put(rest.charAt(0), child);
+                node = child;
+                path.push(node);
+                break;
+            }
+            int common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            path.push(node);
+            rest = rest.substring(common);
+        }
+        node.suggestion = new Suggestion(key, text, weight);
+        path.forEach(this::recomputeTop);
+    }
+
+    public void remove(String key) {
+        Deque<Node> path = findPath(key);
+        if (path == null || path.peek().suggestion == null) {
+            return;
+        }
+        path.peek().suggestion = null;
+        compact(path);
+        path.forEach(this::recomputeTop);
+    }
+
+    public List<Suggestion> top(String prefix, int limit) {
+        Node node = root;
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(child.label, rest);
+            if (common < rest.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            rest = rest.substring(common);
+        }
+        return node.top.stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Deque<Node> findPath(String key) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        String rest = key;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) {
+                return null;
+            }
+            node = child;
+            path.push(node);
+            rest = rest.substring(child.label.length());
+        }
+        return path;
+    }
+
+    private void compact(Deque<Node> path) {
+        Node node = path.pop();
+        Node parent = path.peek();
+        if (parent == null) {
+            path.push(node);
+            return;
+        }
+        if (node.children.isEmpty()) {
+            parent.children.remove(node.label.charAt(0));
+            if (parent != root && parent.suggestion == null && parent.children.size() == 1) {
+                mergeWithChild(path.pop());
+                path.push(parent);
+            }
+        } else if (node.children.size() == 1) {
+            mergeWithChild(node);
+            path.push(node);
+        } else {
+            path.push(node);
+        }
+    }
+
+    private void mergeWithChild(Node node) {
+        Node child = node.children.values().iterator().next();
+        node.label = node.label + child.label;
+        node.suggestion = child.suggestion;
+        node.children.clear();
+        node.children.putAll(child.children);
+        node.top = child.top;
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children.put(child.label.charAt(0), child);
+        middle.top = child.top;
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private void recomputeTop(Node node) {
+        List<Suggestion> candidates = new ArrayList<>();
+        if (node.suggestion != null) {
+            candidates.add(node.suggestion);
+        }
+        node.children.values().forEach(child -> candidates.addAll(child.top));
+        candidates.sort(BY_WEIGHT);
+        node.top = candidates.size() > topSize ? new ArrayList<>(candidates.subList(0, topSize)) : candidates;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new TreeMap<>();
+        private Suggestion suggestion;
+        private List<Suggestion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
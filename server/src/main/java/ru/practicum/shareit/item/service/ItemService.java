@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -15,12 +19,26 @@ public interface ItemService {
 
     Item getItemById(Long itemId);
 
+    void checkItemExists(Long itemId);
+
     ItemDtoWithBooking getItemDtoById(Long itemId, Long userId);
 
     List<ItemDtoWithBooking> getAllItemsByUserId(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemDtoWithBooking> getAllItemsByUserId(Long userId, Cursor after, Integer size);
+
+    ItemCalendarDto getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to);
+
     List<Item> getItemsByText(String text, Integer from, Integer size);
 
+    List<Item> getItemsByFuzzyText(String text, Integer from, Integer size);
+
+    CursorPage<Item> getItemsByText(String text, Cursor after, Integer size);
+
+    CursorPage<Item> getItemsByFuzzyText(String text, Cursor after, Integer size);
+
+    List<String> getItemNameSuggestions(String prefix, Integer size);
+
     List<Item> getAllItemsByRequestId(Long requestId);
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long userId);
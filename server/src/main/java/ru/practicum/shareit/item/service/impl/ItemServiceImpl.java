@@ -2,10 +2,14 @@ package ru.practicum.shareit.item.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.util.BookingMapper;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.overlap.BookingOverlapIndex;
 import ru.practicum.shareit.comment.dao.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
@@ -13,23 +17,33 @@ import ru.practicum.shareit.comment.util.CommentMapper;
 import ru.practicum.shareit.exceptions.EntityAvailabilityException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IllegalEntityAccessException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CalendarIntervalDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.cache.ItemSearchCache;
+import ru.practicum.shareit.item.search.fuzzy.FuzzyItemIndex;
+import ru.practicum.shareit.item.search.suggest.ItemSuggestionIndex;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.util.ItemMapper;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.PageableMaker;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
-import static ru.practicum.shareit.booking.model.enums.BookingStatus.REJECTED;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -37,21 +51,29 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemSuggestionIndex itemSuggestionIndex;
+    private final FuzzyItemIndex fuzzyItemIndex;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserService userService;
 
     @Override
     @Transactional
     public Item addItem(Long userId, Item item) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         item.setOwner(userId);
+        Item addedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.added(ItemMapper.toItemDto(addedItem)));
         log.info("Предмет с названием " + item.getName() + " добавлен.");
-        return itemRepository.save(item);
+        return addedItem;
     }
 
     @Override
     @Transactional
     public Item updateItem(Long itemId, Long userId, Item item) {
         Item updatedItem = checkItemOwner(itemId, userId);
+        ItemDto before = ItemMapper.toItemDto(updatedItem);
         if (item.getName() != null && !item.getName().isBlank()) {
             updatedItem.setName(item.getName());
         }
@@ -61,6 +83,7 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             updatedItem.setAvailable(item.getAvailable());
         }
+        eventPublisher.publishEvent(ItemChangedEvent.updated(before, ItemMapper.toItemDto(updatedItem)));
         log.info("Предмет с id " + itemId + " был обновлен.");
         return updatedItem;
     }
@@ -68,8 +91,9 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public void deleteItem(Long itemId, Long userId) {
-        checkItemOwner(itemId, userId);
+        Item deletedItem = checkItemOwner(itemId, userId);
         itemRepository.deleteById(itemId);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(ItemMapper.toItemDto(deletedItem)));
         log.info("Предмет с id " + itemId + " был удален.");
     }
 
@@ -80,48 +104,127 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public void checkItemExists(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Предмет с id " + itemId + " не найден.");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ItemDtoWithBooking> getAllItemsByUserId(Long userId, Integer from, Integer size) {
-        userService.getUserById(userId);
-        return itemRepository.findAllByOwner(userId, PageableMaker.makePage(from, size)).stream()
-                .map(ItemMapper::toItemDtoWithBooking)
-                .peek(i -> i.setLastBooking(BookingMapper.toBookingDto(
-                        bookingRepository.findByItemIdAndEndBeforeAndStatusNot(i.getId(),
-                                LocalDateTime.now(), REJECTED))))
-                .peek(i -> i.setNextBooking(BookingMapper.toBookingDto(
-                        bookingRepository.findByItemIdAndStartAfterAndStatus(i.getId(),
-                                LocalDateTime.now(), APPROVED))))
-                .peek(i -> i.setComments(commentRepository.findAllByItemId(i.getId()).stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList())))
-                .sorted(Comparator.comparingLong(ItemDtoWithBooking::getId))
-                .collect(Collectors.toList());
+        userService.checkUserExists(userId);
+        List<ItemDtoWithBooking> items = itemRepository.findAllDtoByOwner(userId, PageableMaker.makePage(from, size));
+        loadBookingsAndComments(items);
+        return items;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDtoWithBooking> getAllItemsByUserId(Long userId, Cursor after, Integer size) {
+        userService.checkUserExists(userId);
+        List<ItemDtoWithBooking> items = itemRepository.findAllDtoByOwnerAfter(userId,
+                after == null ? 0L : after.getId(), PageableMaker.makeFirstPage(size));
+        loadBookingsAndComments(items);
+        return CursorPage.of(items, size, i -> Cursor.of(i.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemDtoWithBooking getItemDtoById(Long itemId, Long userId) {
-        ItemDtoWithBooking item = ItemMapper.toItemDtoWithBooking(checkItemExistence(itemId));
-        item.setComments(commentRepository.findAllByItemId(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList()));
+        ItemDtoWithBooking item = itemRepository.findDtoById(itemId).orElseThrow(() ->
+                new EntityNotFoundException("Предмет с id " + itemId + " не найден."));
+        loadComments(List.of(item));
         if (item.getOwner().equals(userId)) {
-            item.setLastBooking(BookingMapper.toBookingDto(bookingRepository.findByItemIdAndEndBeforeAndStatusNot(itemId,
-                    LocalDateTime.now(), REJECTED)));
-            item.setNextBooking(BookingMapper.toBookingDto(bookingRepository.findByItemIdAndStartAfterAndStatus(itemId,
-                    LocalDateTime.now(), APPROVED)));
-            return item;
+            loadLastAndNextBookings(List.of(item));
         }
         return item;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ItemCalendarDto getItemCalendar(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода календаря должно быть раньше его окончания.");
+        }
+        checkItemExists(itemId);
+        List<CalendarIntervalDto> busy = new ArrayList<>();
+        List<CalendarIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        CalendarIntervalDto current = null;
+        for (CalendarIntervalDto booking : bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(itemId,
+                BookingOverlapIndex.ACTIVE_STATUSES, from, to)) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (current != null && !start.isAfter(current.getEnd())) {
+                if (end.isAfter(current.getEnd())) {
+                    current.setEnd(end);
+                }
+                continue;
+            }
+            if (current != null) {
+                freeStart = current.getEnd();
+            }
+            if (start.isAfter(freeStart)) {
+                free.add(new CalendarIntervalDto(freeStart, start));
+            }
+            current = new CalendarIntervalDto(start, end);
+            busy.add(current);
+        }
+        if (current != null) {
+            freeStart = current.getEnd();
+        }
+        if (freeStart.isBefore(to)) {
+            free.add(new CalendarIntervalDto(freeStart, to));
+        }
+        return new ItemCalendarDto(itemId, from, to, busy, free);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Item> getItemsByText(String text, Integer from, Integer size) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        return itemRepository.findByText(text, PageableMaker.makePage(from, size));
+        Pageable pageable = PageableMaker.makePage(from, size);
+        return itemSearchCache.get(text, pageable, () -> itemSearchEngine.search(text, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> getItemsByFuzzyText(String text, Integer from, Integer size) {
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return loadAvailableItems(fuzzyItemIndex.search(text, PageableMaker.makePage(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Item> getItemsByText(String text, Cursor after, Integer size) {
+        if (text.isBlank()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        return itemSearchEngine.search(text, after, PageableMaker.makeFirstPage(size).getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Item> getItemsByFuzzyText(String text, Cursor after, Integer size) {
+        if (text.isBlank()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        CursorPage<Long> itemIds = fuzzyItemIndex.search(text, after, PageableMaker.makeFirstPage(size).getPageSize());
+        return new CursorPage<>(loadAvailableItems(itemIds.getContent()), itemIds.getNext());
+    }
+
+    @Override
+    public List<String> getItemNameSuggestions(String prefix, Integer size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Неверное количество подсказок.");
+        }
+        return itemSuggestionIndex.suggest(prefix, size);
     }
 
     @Override
@@ -142,6 +245,55 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findAllByRequestId(requestId);
     }
 
+    private List<Item> loadAvailableItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void loadBookingsAndComments(List<ItemDtoWithBooking> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        loadLastAndNextBookings(items);
+        loadComments(items);
+    }
+
+    private void loadLastAndNextBookings(List<ItemDtoWithBooking> items) {
+        List<Long> itemIds = getItemIds(items);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingView> lastBookings = groupByItemId(bookingRepository.findLastBookingsByItemIds(itemIds, now));
+        Map<Long, BookingView> nextBookings = groupByItemId(bookingRepository.findNextBookingsByItemIds(itemIds, now));
+        items.forEach(i -> {
+            i.setLastBooking(BookingMapper.toBookingDto(lastBookings.get(i.getId())));
+            i.setNextBooking(BookingMapper.toBookingDto(nextBookings.get(i.getId())));
+        });
+    }
+
+    private void loadComments(List<ItemDtoWithBooking> items) {
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllDtoByItemIdIn(getItemIds(items)).stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+        items.forEach(i -> i.setComments(comments.getOrDefault(i.getId(), new ArrayList<>())));
+    }
+
+    private List<Long> getItemIds(List<ItemDtoWithBooking> items) {
+        return items.stream()
+                .map(ItemDtoWithBooking::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, BookingView> groupByItemId(List<BookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingView::getItemId, Function.identity()));
+    }
+
     private Item checkItemExistence(Long itemId) {
         return itemRepository.findById(itemId).orElseThrow(() ->
                 new EntityNotFoundException("Предмет с id " + itemId + " не найден."));
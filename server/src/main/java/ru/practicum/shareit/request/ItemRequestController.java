@@ -9,8 +9,11 @@ import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.util.ItemRequestMapper;
+import ru.practicum.shareit.util.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -38,8 +41,14 @@ public class ItemRequestController {
     @ResponseStatus(HttpStatus.OK)
     public List<ItemRequestDtoWithItems> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                        @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                        @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                        @RequestParam(name = "after", required = false) String after,
+                                                        HttpServletResponse response) {
         log.debug("Получен GET запрос на получение всех реквестов.");
+        if (after != null) {
+            return itemRequestService.getAllRequests(userId, Cursor.decode(after), size)
+                    .writeTo(response, Function.identity());
+        }
         return itemRequestService.getAllRequests(userId, from, size);
     }
 
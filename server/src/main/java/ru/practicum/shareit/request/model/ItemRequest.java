@@ -22,7 +22,7 @@ public class ItemRequest {
     private Long id;
     @Column(name = "request_description", nullable = false)
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_requester_id", nullable = false)
     private User requester;
     @Column(name = "request_created", nullable = false)
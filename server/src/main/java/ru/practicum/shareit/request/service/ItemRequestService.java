@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.util.List;
 
@@ -13,6 +15,8 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoWithItems> getAllRequests(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDtoWithItems> getAllRequests(Long userId, Cursor after, Integer size);
+
     ItemRequestDtoWithItems getRequestById(Long requestId, Long userId);
 
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
@@ -14,6 +15,8 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.util.ItemRequestMapper;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.PageableMaker;
 
 import java.util.List;
@@ -39,7 +42,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDtoWithItems> getAllRequestsByUserId(Long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         List<ItemRequestDtoWithItems> allRequests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId).stream()
                 .map(ItemRequestMapper::toItemRequestDtoWithItems)
                 .collect(Collectors.toList());
@@ -51,7 +54,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDtoWithItems> getAllRequests(Long userId, Integer from, Integer size) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         List<ItemRequestDtoWithItems> allRequests = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDesc(userId, PageableMaker.makePage(from, size)).stream()
                 .map(ItemRequestMapper::toItemRequestDtoWithItems)
                 .collect(Collectors.toList());
@@ -60,10 +63,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return allRequests;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDtoWithItems> getAllRequests(Long userId, Cursor after, Integer size) {
+        userService.checkUserExists(userId);
+        Pageable pageable = PageableMaker.makeFirstPage(size);
+        List<ItemRequest> requests = after == null
+                ? itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(userId, pageable)
+                : itemRequestRepository.findAllByRequesterIdNotAfter(userId, after.getTimestamp(), after.getId(), pageable);
+        List<ItemRequestDtoWithItems> allRequests = requests.stream()
+                .map(ItemRequestMapper::toItemRequestDtoWithItems)
+                .collect(Collectors.toList());
+        allRequests.forEach(i -> i.setItems(itemService.getAllItemsByRequestId(i.getId()).stream()
+                .map(ItemMapper::toItemDto).collect(Collectors.toList())));
+        return CursorPage.of(allRequests, size, r -> Cursor.of(r.getCreated(), r.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ItemRequestDtoWithItems getRequestById(Long requestId, Long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         ItemRequestDtoWithItems request = ItemRequestMapper.toItemRequestDtoWithItems(itemRequestRepository.findById(requestId).orElseThrow(() ->
                 new EntityNotFoundException("Запрос с id " + requestId + " не найден.")));
         request.setItems(itemService.getAllItemsByRequestId(requestId).stream()
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.util.UserMapper;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@Component
+public class UserCache {
+    private static final String CACHE_NAME = "users";
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(@Value("${shareit.user.cache.max-size}") long maxSize,
+                     @Value("${shareit.user.cache.ttl}") Duration ttl,
+                     @Value("${shareit.user.cache.negative-ttl}") Duration negativeTtl,
+                     MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new FoundOrMissingExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public Optional<User> get(Long userId, Function<Long, Optional<User>> loader) {
+        Entry cached = cache.getIfPresent(userId);
+        if (cached != null && (!cached.exists || cached.user != null)) {
+            return Optional.ofNullable(cached.user).map(UserMapper::toUser);
+        }
+        long loadedAt = generation.get();
+        Optional<User> user = loader.apply(userId);
+        if (generation.get() == loadedAt) {
+            cache.put(userId, new Entry(user.isPresent(), user.map(UserMapper::toUserDto).orElse(null)));
+        }
+        return user;
+    }
+
+    public boolean exists(Long userId, Predicate<Long> loader) {
+        Entry cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached.exists;
+        }
+        long loadedAt = generation.get();
+        boolean exists = loader.test(userId);
+        if (generation.get() == loadedAt) {
+            cache.asMap().putIfAbsent(userId, new Entry(exists, null));
+        }
+        return exists;
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        cache.invalidate(event.getUserId());
+    }
+
+    /**
+     * Запись кэша: найденный пользователь, отметка о его существовании без данных (после проверки
+     * существования) или отметка об отсутствии.
+     */
+    private static class Entry {
+        private final boolean exists;
+        private final UserDto user;
+
+        private Entry(boolean exists, UserDto user) {
+            this.exists = exists;
+            this.user = user;
+        }
+    }
+
+    private static class FoundOrMissingExpiry implements Expiry<Long, Entry> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private FoundOrMissingExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Entry value, long currentTime) {
+            return value.exists ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -13,5 +13,7 @@ public interface UserService {
 
     User getUserById(Long userId);
 
+    void checkUserExists(Long userId);
+
     List<User> getAllUsers();
 }
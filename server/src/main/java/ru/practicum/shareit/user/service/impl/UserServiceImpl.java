@@ -2,11 +2,14 @@ package ru.practicum.shareit.user.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.EntityAlreadyExistsException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.event.UserChangedEvent;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -17,12 +20,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public User addUser(User user) {
         try {
             User userToAdd = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userToAdd.getId()));
             log.info("Пользователь с email " + userToAdd.getEmail() + " был добавлен.");
             return userToAdd;
         } catch (Exception e) {
@@ -42,23 +48,33 @@ public class UserServiceImpl implements UserService {
         if (user.getEmail() != null) {
             updatedUser.setEmail(user.getEmail());
         }
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         return updatedUser;
     }
 
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        getUserById(userId);
+        checkUserExists(userId);
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public User getUserById(Long userId) {
-        return userRepository.findById(userId).orElseThrow(() ->
+        return userCache.get(userId, userRepository::findById).orElseThrow(() ->
                 new EntityNotFoundException("Пользователь с id " + userId + " не найден."));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void checkUserExists(Long userId) {
+        if (!userCache.exists(userId, userRepository::existsById)) {
+            throw new EntityNotFoundException("Пользователь с id " + userId + " не найден.");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.util;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Cursor {
+    private static final String SEPARATOR = "|";
+
+    private final String key;
+    private final Long id;
+
+    public static Cursor of(Long id) {
+        return new Cursor("", id);
+    }
+
+    public static Cursor of(LocalDateTime timestamp, Long id) {
+        return new Cursor(timestamp.toString(), id);
+    }
+
+    public static Cursor of(float score, Long id) {
+        return new Cursor(Float.toString(score), id);
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new Cursor(value.substring(0, separator), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalid();
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    public float getScore() {
+        try {
+            return Float.parseFloat(key);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Неверный курсор пагинации.");
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final Cursor next;
+
+    public static <T> CursorPage<T> of(List<T> content, int size, Function<T, Cursor> cursorOf) {
+        Cursor next = content.size() < size ? null : cursorOf.apply(content.get(content.size() - 1));
+        return new CursorPage<>(content, next);
+    }
+
+    public <R> List<R> writeTo(HttpServletResponse response, Function<T, R> mapper) {
+        if (next != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, next.encode());
+        }
+        return content.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@UtilityClass
+public final class PageIterator {
+    public static <T> void forEach(Function<Pageable, Page<T>> query, int batchSize, Sort sort, Consumer<T> action) {
+        Pageable pageable = PageRequest.of(0, batchSize, sort);
+        Page<T> page;
+        do {
+            page = query.apply(pageable);
+            page.forEach(action);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+    }
+}
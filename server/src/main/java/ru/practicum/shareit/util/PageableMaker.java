@@ -13,4 +13,11 @@ public final class PageableMaker {
         Integer page = from / size;
         return PageRequest.of(page, size);
     }
+
+    public static Pageable makeFirstPage(Integer size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Неверные параметры пагинации.");
+        }
+        return PageRequest.of(0, size);
+    }
 }
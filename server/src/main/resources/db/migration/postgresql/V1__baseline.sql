@@ -0,0 +1,60 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE IF NOT EXISTS users_model (
+    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
+    user_name varchar(255) not null,
+    user_email varchar(255) not null unique
+);
+
+-- Конфигурация russian стеммит кириллицу через russian_stem, а латиницу через english_stem.
+CREATE TABLE IF NOT EXISTS items_model (
+    item_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
+    item_name varchar(255) not null,
+    item_description varchar(5000) not null,
+    item_availability boolean not null,
+    item_owner_id BIGINT not null REFERENCES users_model(user_id),
+    item_request_id BIGINT,
+    item_search tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', item_name), 'A') ||
+        setweight(to_tsvector('russian', item_description), 'B')
+    ) STORED
+);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items_model (item_owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS items_search_idx ON items_model USING GIN (item_search);
+
+CREATE TABLE IF NOT EXISTS bookings_model (
+    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
+    booking_start timestamp without time zone not null,
+    booking_end timestamp without time zone not null,
+    booking_item BIGINT not null REFERENCES items_model(item_id),
+    booking_booker BIGINT not null REFERENCES users_model(user_id),
+    booking_status varchar(50) not null,
+    CONSTRAINT bookings_approved_no_overlap
+        EXCLUDE USING gist (booking_item WITH =, tsrange(booking_start, booking_end) WITH &&)
+        WHERE (booking_status = 'APPROVED')
+);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings_model (booking_item, booking_end);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings_model (booking_item, booking_start);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings_model (booking_booker, booking_start DESC, booking_id DESC);
+
+CREATE TABLE IF NOT EXISTS comments_model (
+    comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
+    comment_text varchar(5000) not null,
+    comment_user_id BIGINT not null REFERENCES users_model(user_id),
+    comment_item_id BIGINT not null REFERENCES items_model(item_id),
+    comment_created timestamp not null
+);
+
+CREATE TABLE IF NOT EXISTS item_requests_model (
+    request_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
+    request_description varchar(5000) not null,
+    request_requester_id BIGINT not null REFERENCES users_model(user_id),
+    request_created timestamp not null
+);
+
+CREATE INDEX IF NOT EXISTS item_requests_created_idx ON item_requests_model (request_created DESC, request_id DESC);
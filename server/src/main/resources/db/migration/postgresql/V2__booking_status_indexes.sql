@@ -0,0 +1,6 @@
+-- Индексы строятся без блокировки записи, поэтому Flyway выполняет миграцию вне транзакции.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_booker_status_start_idx
+    ON bookings_model (booking_booker, booking_status, booking_start DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_item_status_start_idx
+    ON bookings_model (booking_item, booking_status, booking_start);
@@ -0,0 +1,4 @@
+-- Проверка уже добавленных ограничений читает таблицу под SHARE UPDATE EXCLUSIVE и не блокирует запись.
+ALTER TABLE bookings_model VALIDATE CONSTRAINT bookings_owner_not_null;
+
+ALTER TABLE bookings_model VALIDATE CONSTRAINT bookings_model_booking_owner_id_fkey;
@@ -0,0 +1,4 @@
+-- Проверенное ограничение CHECK доказывает отсутствие NULL, поэтому SET NOT NULL не сканирует таблицу.
+ALTER TABLE bookings_model ALTER COLUMN booking_owner_id SET NOT NULL;
+
+ALTER TABLE bookings_model DROP CONSTRAINT bookings_owner_not_null;
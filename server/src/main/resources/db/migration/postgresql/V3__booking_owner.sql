@@ -0,0 +1,8 @@
+-- Владелец бронирования добавляется поэтапно, чтобы ни один шаг не держал блокировку записи на время прохода
+-- по таблице: здесь колонка и внешний ключ появляются без проверки существующих строк, миграция 3.1
+-- (BookingOwnerBackfillMigration) заполняет колонку пачками, V3_2 проверяет ограничения, V3_3 делает колонку
+-- обязательной.
+ALTER TABLE bookings_model ADD COLUMN IF NOT EXISTS booking_owner_id BIGINT;
+
+ALTER TABLE bookings_model ADD CONSTRAINT bookings_model_booking_owner_id_fkey
+    FOREIGN KEY (booking_owner_id) REFERENCES users_model(user_id) NOT VALID;
@@ -0,0 +1,5 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_owner_start_idx
+    ON bookings_model (booking_owner_id, booking_start DESC, booking_id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_owner_status_start_idx
+    ON bookings_model (booking_owner_id, booking_status, booking_start DESC);
@@ -0,0 +1 @@
+ALTER TABLE bookings_model ADD COLUMN IF NOT EXISTS booking_version BIGINT NOT NULL DEFAULT 0;
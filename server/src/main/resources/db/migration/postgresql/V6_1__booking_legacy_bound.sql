@@ -0,0 +1,15 @@
+-- Историческая секция ограничена сверху первым числом месяца, наступающего через четыре месяца после самого
+-- позднего начала бронирования или текущего месяца: запас покрывает бронирования, созданные во время миграции.
+-- Граница сохраняется для V6_5, а ограничение с ней добавляется без проверки существующих строк: V6_2 проверяет
+-- его без блокировки записи, и подключение секции в V6_5 обходится без сканирования таблицы.
+CREATE TABLE bookings_partition_cutoff AS
+SELECT date_trunc('month', GREATEST(COALESCE(MAX(booking_start), LOCALTIMESTAMP), LOCALTIMESTAMP))
+           + interval '4 months' AS cutoff
+FROM bookings_model;
+
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE bookings_model ADD CONSTRAINT bookings_model_legacy_bound ' ||
+                   'CHECK (booking_start < %L::timestamp) NOT VALID', (SELECT cutoff FROM bookings_partition_cutoff));
+END;
+$$;
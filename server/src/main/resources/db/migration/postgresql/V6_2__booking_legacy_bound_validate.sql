@@ -0,0 +1 @@
+ALTER TABLE bookings_model VALIDATE CONSTRAINT bookings_model_legacy_bound;
@@ -0,0 +1,34 @@
+-- Исключающее ограничение на секционированной таблице не поддерживается, а ограничение отдельной секции не видит
+-- пересечений с бронированиями, начинающимися в соседних месяцах. Поэтому одобренные бронирования дублируются
+-- в небольшой несекционированной таблице слотов с исключающим ограничением: триггер добавляет слот, когда
+-- бронирование становится одобренным, и удаляет, когда перестает. Параллельные одобрения ждут друг друга, только
+-- если их интервалы действительно пересекаются, а конфликт по-прежнему завершается ошибкой 23P01.
+-- Триггер ставится на текущую таблицу до заполнения слотов в V6_4, поэтому одобрения во время миграции не теряются.
+CREATE TABLE IF NOT EXISTS approved_booking_slots (
+    booking_id BIGINT not null PRIMARY KEY,
+    booking_item BIGINT not null,
+    period tsrange not null,
+    CONSTRAINT approved_booking_slots_no_overlap
+        EXCLUDE USING gist (booking_item WITH =, period WITH &&)
+);
+
+CREATE OR REPLACE FUNCTION bookings_sync_approved_slot() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.booking_status = NEW.booking_status AND OLD.booking_item = NEW.booking_item
+            AND OLD.booking_start = NEW.booking_start AND OLD.booking_end = NEW.booking_end THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP <> 'INSERT' AND OLD.booking_status = 'APPROVED' THEN
+        DELETE FROM approved_booking_slots WHERE booking_id = OLD.booking_id;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.booking_status = 'APPROVED' THEN
+        INSERT INTO approved_booking_slots (booking_id, booking_item, period)
+        VALUES (NEW.booking_id, NEW.booking_item, tsrange(NEW.booking_start, NEW.booking_end));
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bookings_approved_slot
+    AFTER INSERT OR UPDATE OF booking_status, booking_start, booking_end, booking_item OR DELETE ON bookings_model
+    FOR EACH ROW EXECUTE FUNCTION bookings_sync_approved_slot();
@@ -0,0 +1,13 @@
+-- Слоты нужны только бронированиям, которые еще не закончились: новые бронирования начинаются в будущем и не могут
+-- пересечься с завершенными. Заполнение читает таблицу без блокировки записи, а пересечений среди существующих
+-- одобренных бронирований нет благодаря исключающему ограничению из V1. Второй оператор видит свежий снимок
+-- и убирает слоты бронирований, одобрение которых было отменено, пока шло заполнение.
+INSERT INTO approved_booking_slots (booking_id, booking_item, period)
+SELECT booking_id, booking_item, tsrange(booking_start, booking_end)
+FROM bookings_model
+WHERE booking_status = 'APPROVED' AND booking_end > LOCALTIMESTAMP
+ON CONFLICT (booking_id) DO NOTHING;
+
+DELETE FROM approved_booking_slots s
+WHERE NOT EXISTS (SELECT 1 FROM bookings_model b
+                  WHERE b.booking_id = s.booking_id AND b.booking_status = 'APPROVED');
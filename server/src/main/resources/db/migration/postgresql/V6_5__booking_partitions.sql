@@ -0,0 +1,179 @@
+-- Бронирования секционируются по месяцу начала: запросы с условием на booking_start читают только нужные секции,
+-- а секции старше горизонта архивации целиком переносятся в bookings_archive без копирования строк.
+-- Текущая таблица подключается как секция исторических данных bookings_model_legacy: все операции здесь меняют
+-- только каталог, поэтому эксклюзивная блокировка держится недолго. Строки не копируются, а индексы и внешние
+-- ключи секционированной таблицы совпадают с уже существующими и подключаются без перестроения.
+-- Историческая секция опустошается постепенно: BookingPartitionJob пачками по booking_id переносит из нее
+-- в bookings_archive_legacy бронирования, закончившиеся раньше горизонта (bookings_archive_legacy_batch),
+-- а опустевшая секция отключается и удаляется (bookings_archive_partitions). Пока она не удалена, запросы
+-- с условием на booking_start читают и ее; место удаленных строк освобождается только вместе с секцией.
+-- Поиск и обновление по одному booking_id (findById, обновление с @Version) не могут отсечь секции по ключу
+-- и проверяют индекс первичного ключа каждой из них. Секций немного: помесячные до горизонта архивации и на
+-- несколько месяцев вперед, историческая и секция по умолчанию. Обновления статуса, где начало известно,
+-- дополнительно фильтруют по booking_start.
+ALTER TABLE bookings_model DROP CONSTRAINT bookings_model_pkey,
+    ADD CONSTRAINT bookings_model_legacy_pkey PRIMARY KEY USING INDEX bookings_model_id_start_idx;
+ALTER TABLE bookings_model RENAME TO bookings_model_legacy;
+ALTER SEQUENCE bookings_model_booking_id_seq RENAME TO bookings_model_legacy_booking_id_seq;
+ALTER INDEX bookings_item_end_idx RENAME TO bookings_model_legacy_item_end_idx;
+ALTER INDEX bookings_item_start_idx RENAME TO bookings_model_legacy_item_start_idx;
+ALTER INDEX bookings_booker_start_idx RENAME TO bookings_model_legacy_booker_start_idx;
+ALTER INDEX bookings_booker_status_start_idx RENAME TO bookings_model_legacy_booker_status_start_idx;
+ALTER INDEX bookings_item_status_start_idx RENAME TO bookings_model_legacy_item_status_start_idx;
+ALTER INDEX bookings_owner_start_idx RENAME TO bookings_model_legacy_owner_start_idx;
+ALTER INDEX bookings_owner_status_start_idx RENAME TO bookings_model_legacy_owner_status_start_idx;
+
+-- Пересечения проверяет таблица слотов из V6_3, а триггер слотов секция получит от секционированной таблицы.
+ALTER TABLE bookings_model_legacy DROP CONSTRAINT bookings_approved_no_overlap;
+DROP TRIGGER bookings_approved_slot ON bookings_model_legacy;
+
+CREATE TABLE bookings_model (
+    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null,
+    booking_start timestamp without time zone not null,
+    booking_end timestamp without time zone not null,
+    booking_item BIGINT not null REFERENCES items_model(item_id),
+    booking_booker BIGINT not null REFERENCES users_model(user_id),
+    booking_status varchar(50) not null,
+    booking_owner_id BIGINT not null REFERENCES users_model(user_id),
+    booking_version BIGINT not null DEFAULT 0,
+    PRIMARY KEY (booking_id, booking_start)
+) PARTITION BY RANGE (booking_start);
+
+CREATE INDEX bookings_item_end_idx ON bookings_model (booking_item, booking_end);
+
+CREATE INDEX bookings_item_start_idx ON bookings_model (booking_item, booking_start);
+
+CREATE INDEX bookings_booker_start_idx ON bookings_model (booking_booker, booking_start DESC, booking_id DESC);
+
+CREATE INDEX bookings_booker_status_start_idx ON bookings_model (booking_booker, booking_status, booking_start DESC);
+
+CREATE INDEX bookings_item_status_start_idx ON bookings_model (booking_item, booking_status, booking_start);
+
+CREATE INDEX bookings_owner_start_idx ON bookings_model (booking_owner_id, booking_start DESC, booking_id DESC);
+
+CREATE INDEX bookings_owner_status_start_idx ON bookings_model (booking_owner_id, booking_status, booking_start DESC);
+
+CREATE TRIGGER bookings_approved_slot
+    AFTER INSERT OR UPDATE OF booking_status, booking_start, booking_end, booking_item OR DELETE ON bookings_model
+    FOR EACH ROW EXECUTE FUNCTION bookings_sync_approved_slot();
+
+SELECT setval(pg_get_serial_sequence('bookings_model', 'booking_id'), COALESCE(MAX(booking_id), 0) + 1, false)
+FROM bookings_model_legacy;
+
+ALTER TABLE bookings_model_legacy ALTER COLUMN booking_id DROP IDENTITY;
+
+-- Проверенное в V6_2 ограничение доказывает границу секции, поэтому подключение не сканирует таблицу.
+DO $$
+BEGIN
+    EXECUTE format('ALTER TABLE bookings_model ATTACH PARTITION bookings_model_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   (SELECT cutoff FROM bookings_partition_cutoff));
+END;
+$$;
+
+ALTER TABLE bookings_model_legacy DROP CONSTRAINT bookings_model_legacy_bound;
+
+CREATE TABLE bookings_model_default PARTITION OF bookings_model DEFAULT;
+
+CREATE TABLE bookings_archive (
+    LIKE bookings_model INCLUDING DEFAULTS,
+    PRIMARY KEY (booking_id, booking_start)
+) PARTITION BY RANGE (booking_start);
+
+DO $$
+BEGIN
+    EXECUTE format('CREATE TABLE bookings_archive_legacy PARTITION OF bookings_archive FOR VALUES FROM (MINVALUE) TO (%L)',
+                   (SELECT cutoff FROM bookings_partition_cutoff));
+END;
+$$;
+
+DROP TABLE bookings_partition_cutoff;
+
+-- Помесячные секции начинаются с верхней границы исторической: месяц, который она уже покрывает, пропускается.
+CREATE OR REPLACE FUNCTION bookings_create_partition(month_start date) RETURNS boolean AS $$
+DECLARE
+    partition_name text := 'bookings_model_' || to_char(month_start, 'YYYY_MM');
+    month_end date := (month_start + interval '1 month')::date;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE bookings_model INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM bookings_model_default ' ||
+                   'WHERE booking_start >= %L AND booking_start < %L RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+    EXECUTE format('ALTER TABLE bookings_model ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_end);
+    -- Удаление из секции по умолчанию убрало слоты перенесенных бронирований, поэтому они восстанавливаются.
+    EXECUTE format('INSERT INTO approved_booking_slots (booking_id, booking_item, period) ' ||
+                   'SELECT booking_id, booking_item, tsrange(booking_start, booking_end) FROM %I ' ||
+                   'WHERE booking_status = ''APPROVED'' ON CONFLICT (booking_id) DO NOTHING', partition_name);
+    RETURN true;
+EXCEPTION
+    WHEN invalid_object_definition THEN
+        RETURN false;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Переносит в архив закончившиеся раньше горизонта бронирования исторической секции с booking_id из следующей
+-- пачки после after_id. Возвращает последний booking_id пачки или NULL, когда секция пройдена или уже удалена.
+CREATE OR REPLACE FUNCTION bookings_archive_legacy_batch(horizon timestamp, after_id bigint, batch_size integer)
+    RETURNS bigint AS $$
+DECLARE
+    last_id bigint;
+BEGIN
+    IF to_regclass('bookings_model_legacy') IS NULL THEN
+        RETURN NULL;
+    END IF;
+    SELECT MAX(booking_id) INTO last_id
+    FROM (SELECT booking_id FROM bookings_model_legacy WHERE booking_id > after_id
+          ORDER BY booking_id LIMIT batch_size) batch;
+    IF last_id IS NULL THEN
+        RETURN NULL;
+    END IF;
+    WITH moved AS (
+        DELETE FROM bookings_model_legacy
+        WHERE booking_id > after_id AND booking_id <= last_id AND booking_end < horizon
+        RETURNING *
+    )
+    INSERT INTO bookings_archive (booking_id, booking_start, booking_end, booking_item, booking_booker,
+                                  booking_status, booking_owner_id, booking_version)
+    SELECT booking_id, booking_start, booking_end, booking_item, booking_booker,
+           booking_status, booking_owner_id, booking_version
+    FROM moved;
+    RETURN last_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Секция архивируется, только если все ее бронирования закончились раньше горизонта. Опустевшая историческая
+-- секция удаляется, а слоты закончившихся бронирований больше не нужны для проверки пересечений.
+CREATE OR REPLACE FUNCTION bookings_archive_partitions(horizon timestamp) RETURNS integer AS $$
+DECLARE
+    partition_name text;
+    month_start date;
+    has_recent boolean;
+    archived integer := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings_model'::regclass AND c.relname ~ '^bookings_model_\d{4}_\d{2}$'
+        ORDER BY c.relname
+    LOOP
+        month_start := to_date(right(partition_name, 7), 'YYYY_MM');
+        EXIT WHEN month_start + interval '1 month' > horizon;
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE booking_end >= %L)', partition_name, horizon)
+            INTO has_recent;
+        CONTINUE WHEN has_recent;
+        EXECUTE format('ALTER TABLE bookings_model DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE bookings_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, month_start, (month_start + interval '1 month')::date);
+        archived := archived + 1;
+    END LOOP;
+    IF to_regclass('bookings_model_legacy') IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM bookings_model_legacy) THEN
+        ALTER TABLE bookings_model DETACH PARTITION bookings_model_legacy;
+        DROP TABLE bookings_model_legacy;
+    END IF;
+    DELETE FROM approved_booking_slots WHERE upper(period) < horizon;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
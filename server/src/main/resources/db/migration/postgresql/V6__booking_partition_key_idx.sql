@@ -0,0 +1,7 @@
+-- Бронирования секционируются в несколько шагов, чтобы ни один из них не копировал таблицу и не строил индексы
+-- под блокировкой записи: текущая таблица станет секцией исторических данных новой секционированной таблицы.
+-- Первичный ключ секционированной таблицы обязан включать ключ секционирования, поэтому уникальный индекс
+-- по (booking_id, booking_start) строится заранее и без блокировки записи, а V6_5 делает его первичным ключом.
+-- Остальные индексы секционированной таблицы повторяют уже существующие индексы из V1, V2 и V4.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS bookings_model_id_start_idx
+    ON bookings_model (booking_id, booking_start);
@@ -15,15 +15,33 @@ CREATE TABLE IF NOT EXISTS items_model (
     item_request_id BIGINT
 );
 
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items_model (item_owner_id, item_id);
+
 CREATE TABLE IF NOT EXISTS bookings_model (
     booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
     booking_start timestamp without time zone not null,
     booking_end timestamp without time zone not null,
     booking_item BIGINT not null REFERENCES items_model(item_id),
     booking_booker BIGINT not null REFERENCES users_model(user_id),
-    booking_status varchar(50) not null
+    booking_status varchar(50) not null,
+    booking_owner_id BIGINT not null REFERENCES users_model(user_id),
+    booking_version BIGINT not null DEFAULT 0
 );
 
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings_model (booking_item, booking_end);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings_model (booking_item, booking_start);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings_model (booking_booker, booking_start DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings_model (booking_booker, booking_status, booking_start DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings_model (booking_item, booking_status, booking_start);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_start_idx ON bookings_model (booking_owner_id, booking_start DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_status_start_idx ON bookings_model (booking_owner_id, booking_status, booking_start DESC);
+
 CREATE TABLE IF NOT EXISTS comments_model (
     comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY not null PRIMARY KEY,
     comment_text varchar(5000) not null,
@@ -37,4 +55,6 @@ CREATE TABLE IF NOT EXISTS item_requests_model (
     request_description varchar(5000) not null,
     request_requester_id BIGINT not null REFERENCES users_model(user_id),
     request_created timestamp not null
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS item_requests_created_idx ON item_requests_model (request_created DESC, request_id DESC);
\ No newline at end of file
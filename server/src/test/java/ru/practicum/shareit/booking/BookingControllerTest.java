@@ -10,24 +10,36 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.EntityConflictException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.ForbiddenAccessException;
 import ru.practicum.shareit.exceptions.UnsupportedStateException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
@@ -54,6 +66,7 @@ public class BookingControllerTest {
     private final EntityNotFoundException notFoundException = new EntityNotFoundException("Не найдено.");
     private final ForbiddenAccessException forbiddenAccessException = new ForbiddenAccessException("Запрещено.");
     private final IllegalArgumentException illegalArgumentException = new IllegalArgumentException("Недоступно.");
+    private final EntityConflictException conflictException = new EntityConflictException("Пересечение.");
     private final UnsupportedStateException unsupportedStateException = new UnsupportedStateException("Неподдерживаемый.");
 
     @BeforeEach
@@ -208,6 +221,18 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.error", is("Отсутствие прав доступа.")));
     }
 
+    @Test
+    public void addBookingOverlapTestFail() throws Exception {
+        when(bookingService.addBooking(any(), Mockito.anyLong())).thenThrow(conflictException);
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(correctBooking))
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Конфликт с текущим состоянием объекта.")));
+    }
+
     @Test
     public void addBookingNoHeaderTestFail() throws Exception {
         mockMvc.perform(post("/bookings")
@@ -233,6 +258,35 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(APPROVED.toString())));
     }
 
+    @Test
+    public void updateBookingsTestSuccess() throws Exception {
+        List<BookingApprovalDto> approvals = List.of(new BookingApprovalDto(1L, true), new BookingApprovalDto(2L, true));
+        when(bookingService.updateBookings(approvals, 1L)).thenReturn(List.of(
+                new BookingApprovalResultDto(1L, APPROVED, null),
+                BookingApprovalResultDto.failure(2L, "Не найдено.")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(approvals))
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(APPROVED.toString())))
+                .andExpect(jsonPath("$[1].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Не найдено.")));
+    }
+
+    @Test
+    public void updateBookingsConflictTestFail() throws Exception {
+        when(bookingService.updateBookings(any(), Mockito.anyLong())).thenThrow(conflictException);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingApprovalDto(1L, true))))
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     public void updateBookingNotFoundTestFail() throws Exception {
         when(bookingService.updateBooking(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyBoolean())).thenThrow(notFoundException);
@@ -332,6 +386,27 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    public void getAllBookingsByUserIdAfterCursorTestSuccess() throws Exception {
+        Cursor next = Cursor.of(booking.getStart(), booking.getId());
+        when(bookingService.getAllBookingsByUserId(Mockito.anyLong(), any(), Mockito.<Cursor>any(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(booking), next));
+
+        mockMvc.perform(get("/bookings?state=ALL&after=&size=1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next.encode()))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    public void getAllBookingsByUserIdInvalidCursorTestFail() throws Exception {
+        mockMvc.perform(get("/bookings?state=ALL&after=!!!&size=1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description", is("Неверный курсор пагинации.")));
+    }
+
     @Test
     public void getAllBookingsByUserIdNotFoundTestFail() throws Exception {
         when(bookingService.getAllBookingsByUserId(Mockito.anyLong(), any(), Mockito.anyInt(), Mockito.anyInt())).thenThrow(notFoundException);
@@ -393,4 +468,59 @@ public class BookingControllerTest {
         mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10"))
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    public void getBookingStatsByUserIdTestSuccess() throws Exception {
+        when(bookingService.getBookingStatsByUserId(Mockito.anyLong()))
+                .thenReturn(new BookingStatsDto(3L, 1L, 1L, 1L, 2L, 1L, 0L));
+
+        mockMvc.perform(get("/bookings/stats")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$.all", is(3)))
+                .andExpect(jsonPath("$.waiting", is(2)));
+    }
+
+    @Test
+    public void getBookingStatsByOwnerIdNotFoundTestFail() throws Exception {
+        when(bookingService.getBookingStatsByOwnerId(Mockito.anyLong())).thenThrow(notFoundException);
+
+        mockMvc.perform(get("/bookings/owner/stats")
+                        .header("X-Sharer-User-Id", 999))
+                .andExpect(status().is4xxClientError())
+                .andExpect(jsonPath("$.error", is("Объект не найден.")));
+    }
+
+    @Test
+    public void exportBookingsTestSuccess() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Booking> consumer = invocation.getArgument(3);
+            consumer.accept(booking);
+            consumer.accept(booking);
+            return null;
+        }).when(bookingService).exportBookings(Mockito.anyLong(), any(), any(), any());
+
+        String body = mockMvc.perform(get("/bookings/export?state=ALL&owner=true")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(booking.getId(), objectMapper.readTree(lines[0]).get("id").asLong());
+    }
+
+    @Test
+    public void exportBookingsNotFoundTestFail() throws Exception {
+        doThrow(notFoundException).when(bookingService).exportBookings(Mockito.anyLong(), any(), any(), any());
+
+        mockMvc.perform(get("/bookings/export?state=ALL")
+                        .header("X-Sharer-User-Id", 999)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("Объект не найден.")));
+    }
 }
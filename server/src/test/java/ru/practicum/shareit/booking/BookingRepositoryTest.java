@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,19 +8,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.BookingSpecifications;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatsView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.BookingState;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CalendarIntervalDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Cursor;
 import ru.practicum.shareit.util.PageableMaker;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
 
 @DataJpaTest
@@ -94,7 +106,9 @@ public class BookingRepositoryTest {
 
     @AfterEach
     public void afterEach() {
+        entityManager.getEntityManager().getTransaction().begin();
         bookingRepository.deleteAll();
+        entityManager.getEntityManager().getTransaction().commit();
         userRepository.deleteAll();
         itemRepository.deleteAll();
     }
@@ -109,95 +123,232 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void findByItemIdAndEndBeforeAndStatusNotTest() {
-        Booking booking = bookingRepository.findByItemIdAndEndBeforeAndStatusNot(1L, date.plusDays(2), APPROVED);
+    public void findLastBookingsByItemIdsTest() {
+        entityManager.getEntityManager().getTransaction().begin();
+        Booking laterBooking = bookingRepository.save(new Booking(
+                        3L,
+                        LocalDateTime.of(2024, 1, 3, 1, 1, 1),
+                        LocalDateTime.of(2024, 1, 4, 1, 1, 1),
+                        firstItem,
+                        secondUser,
+                        APPROVED
+                )
+        );
+        entityManager.getEntityManager().getTransaction().commit();
 
-        assertEquals(1L, booking.getItem().getId());
-        assertTrue(booking.getEnd().isBefore(date.plusDays(2)));
-        assertNotEquals(APPROVED, booking.getStatus());
+        List<BookingView> bookings = bookingRepository.findLastBookingsByItemIds(
+                List.of(firstItem.getId(), secondItem.getId()),
+                date.plusDays(3)
+        );
+
+        assertEquals(2, bookings.size());
+        assertTrue(bookings.stream().anyMatch(b -> b.getId().equals(laterBooking.getId())));
+        assertTrue(bookings.stream().anyMatch(b -> b.getId().equals(secondBooking.getId())));
+        deleteInNewTransaction(laterBooking);
     }
 
     @Test
-    public void findByItemIdAndStartAfterAndStatusTest() {
-        Booking booking = bookingRepository.findByItemIdAndStartAfterAndStatus(1L, date.minusDays(2), WAITING);
-
-        assertEquals(1L, booking.getItem().getId());
-        assertTrue(booking.getStart().isAfter(date.minusDays(2)));
-        assertEquals(WAITING, booking.getStatus());
+    public void findAllDtoByItemIdAndStatusInAndEndAfterTest() {
+        List<BookingDto> bookings = bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(
+                firstItem.getId(), List.of(APPROVED, WAITING), date);
+
+        assertEquals(1, bookings.size());
+        assertEquals(firstBooking.getId(), bookings.get(0).getId());
+        assertEquals(firstUser.getId(), bookings.get(0).getBookerId());
+        assertTrue(bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(
+                firstItem.getId(), List.of(APPROVED, WAITING), date.plusDays(1)).isEmpty());
+        assertTrue(bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(
+                firstItem.getId(), List.of(APPROVED), date).isEmpty());
     }
 
     @Test
-    public void findAllByBookerIdTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(1L, pageable);
+    public void findAllIntervalsByItemIdAndStatusInBetweenTest() {
+        List<CalendarIntervalDto> intervals = bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(
+                firstItem.getId(), List.of(APPROVED, WAITING), date, date.plusDays(5));
+
+        assertEquals(List.of(new CalendarIntervalDto(firstBooking.getStart(), firstBooking.getEnd())), intervals);
+        assertTrue(bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(
+                firstItem.getId(), List.of(APPROVED, WAITING), date.plusDays(1), date.plusDays(5)).isEmpty());
+        assertTrue(bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(
+                firstItem.getId(), List.of(APPROVED), date, date.plusDays(5)).isEmpty());
+    }
 
-        assertEquals(2, bookings.size());
+    @Test
+    public void findWithItemAndBookerByIdTest() {
+        entityManager.clear();
+        Booking lazy = bookingRepository.findById(firstBooking.getId()).orElseThrow();
+        entityManager.clear();
+        Booking fetched = bookingRepository.findWithItemAndBookerById(firstBooking.getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(lazy.getItem()));
+        assertFalse(Hibernate.isInitialized(lazy.getBooker()));
+        assertTrue(Hibernate.isInitialized(fetched.getItem()));
+        assertTrue(Hibernate.isInitialized(fetched.getBooker()));
+        assertEquals(firstItem.getName(), fetched.getItem().getName());
     }
 
     @Test
-    public void findAllByBookerIdAndStartBeforeAndEndAfterTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                1L,
-                date,
-                date,
-                pageable
-        );
+    public void findAllWithItemAndBookerByIdInTest() {
+        List<Booking> bookings = bookingRepository.findAllWithItemAndBookerByIdIn(
+                List.of(firstBooking.getId(), secondBooking.getId(), 999L));
 
         assertEquals(2, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> b.getOwner().equals(secondUser.getId())));
     }
 
     @Test
-    public void findAllByBookerIdAndStartAfterTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(1L, date.minusDays(2), pageable);
+    public void updateStatusTest() {
+        entityManager.getEntityManager().getTransaction().begin();
+        Booking booking = bookingRepository.findById(firstBooking.getId()).orElseThrow();
 
-        assertEquals(2, bookings.size());
+        assertTrue(bookingRepository.updateStatus(booking, APPROVED));
+        assertEquals(APPROVED, booking.getStatus());
+        assertEquals(1L, booking.getVersion());
+        entityManager.getEntityManager().getTransaction().commit();
     }
 
     @Test
-    public void findAllByBookerIdAndEndBeforeTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(1L, date.plusDays(2), pageable);
-
-        assertEquals(2, bookings.size());
+    public void updateStatusConcurrentlyChangedTest() {
+        entityManager.getEntityManager().getTransaction().begin();
+        Booking booking = bookingRepository.findById(firstBooking.getId()).orElseThrow();
+        EntityManager concurrent = entityManager.getEntityManager().getEntityManagerFactory().createEntityManager();
+        concurrent.getTransaction().begin();
+        concurrent.find(Booking.class, firstBooking.getId()).setStatus(REJECTED);
+        concurrent.getTransaction().commit();
+        concurrent.close();
+
+        assertFalse(bookingRepository.updateStatus(booking, APPROVED));
+        assertEquals(REJECTED, booking.getStatus());
+        assertEquals(1L, booking.getVersion());
+        entityManager.getEntityManager().getTransaction().commit();
     }
 
     @Test
-    public void findAllByBookerIdAndStatusEqualsTest() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatusEqualsOrderByStartDesc(1L, WAITING, pageable);
+    public void findNextBookingsByItemIdsTest() {
+        entityManager.getEntityManager().getTransaction().begin();
+        Booking approvedBooking = bookingRepository.save(new Booking(
+                        3L,
+                        LocalDateTime.of(2024, 1, 5, 1, 1, 1),
+                        LocalDateTime.of(2024, 1, 6, 1, 1, 1),
+                        firstItem,
+                        secondUser,
+                        APPROVED
+                )
+        );
+        Booking laterBooking = bookingRepository.save(new Booking(
+                        4L,
+                        LocalDateTime.of(2024, 1, 7, 1, 1, 1),
+                        LocalDateTime.of(2024, 1, 8, 1, 1, 1),
+                        firstItem,
+                        secondUser,
+                        APPROVED
+                )
+        );
+        entityManager.getEntityManager().getTransaction().commit();
 
-        assertEquals(2, bookings.size());
+        List<BookingView> bookings = bookingRepository.findNextBookingsByItemIds(
+                List.of(firstItem.getId(), secondItem.getId()),
+                date
+        );
+
+        assertEquals(1, bookings.size());
+        assertEquals(approvedBooking.getId(), bookings.get(0).getId());
+        assertEquals(firstItem.getId(), bookings.get(0).getItemId());
+        assertEquals(secondUser.getId(), bookings.get(0).getBookerId());
+        assertEquals(approvedBooking.getStart(), bookings.get(0).getStart());
+        assertEquals(APPROVED, bookings.get(0).getStatus());
+        deleteInNewTransaction(approvedBooking, laterBooking);
     }
 
     @Test
-    public void findAllByItemOwnerTest() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerOrderByStartDesc(2L, pageable);
+    public void findAllByBookerInStateTest() {
+        assertEquals(2, findAll(BookingSpecifications.bookerIs(1L), BookingState.ALL).size());
+        assertEquals(2, findAll(BookingSpecifications.bookerIs(1L), BookingState.CURRENT).size());
+        assertEquals(0, findAll(BookingSpecifications.bookerIs(1L), BookingState.FUTURE).size());
+        assertEquals(0, findAll(BookingSpecifications.bookerIs(1L), BookingState.PAST).size());
+        assertEquals(2, findAll(BookingSpecifications.bookerIs(1L), BookingState.WAITING).size());
+        assertEquals(0, findAll(BookingSpecifications.bookerIs(1L), BookingState.REJECTED).size());
+        assertEquals(0, findAll(BookingSpecifications.bookerIs(2L), BookingState.ALL).size());
+    }
 
-        assertEquals(2, bookings.size());
+    @Test
+    public void findAllByOwnerInStateTest() {
+        List<Booking> waiting = findAll(BookingSpecifications.ownerIs(2L), BookingState.WAITING);
+
+        assertEquals(2, waiting.size());
+        assertEquals(secondBooking.getId(), waiting.get(0).getId());
+        assertEquals(firstBooking.getId(), waiting.get(1).getId());
+        assertEquals(2, findAll(BookingSpecifications.ownerIs(2L), BookingState.CURRENT).size());
+        assertEquals(0, findAll(BookingSpecifications.ownerIs(2L), BookingState.PAST).size());
+        assertEquals(0, findAll(BookingSpecifications.ownerIs(1L), BookingState.ALL).size());
     }
 
     @Test
-    public void findAllByItemOwnerAndStartAfterTest() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStartAfterOrderByStartDesc(2L, date.minusDays(2), pageable);
+    public void findAllWithOffsetTest() {
+        List<Booking> bookings = bookingRepository.findAll(BookingSpecifications.bookerIs(1L)
+                .and(BookingSpecifications.inState(BookingState.ALL, date)), BookingSpecifications.BY_START_DESC, 1, 10);
 
-        assertEquals(2, bookings.size());
+        assertEquals(1, bookings.size());
+        assertEquals(firstBooking.getId(), bookings.get(0).getId());
+        assertEquals(firstItem.getName(), bookings.get(0).getItem().getName());
     }
 
     @Test
-    public void findAllByItemOwnerAndEndBeforeTest() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndEndBeforeOrderByStartDesc(2L, date.plusDays(2), pageable);
+    public void findAllAfterCursorTest() {
+        List<Booking> firstPage = bookingRepository.findAll(BookingSpecifications.bookerIs(1L)
+                        .and(BookingSpecifications.inState(BookingState.ALL, date))
+                        .and(BookingSpecifications.afterCursor(null)),
+                BookingSpecifications.BY_START_DESC, 0, 1);
+        Booking last = firstPage.get(0);
+        List<Booking> secondPage = bookingRepository.findAll(BookingSpecifications.ownerIs(2L)
+                        .and(BookingSpecifications.inState(BookingState.WAITING, date))
+                        .and(BookingSpecifications.afterCursor(Cursor.of(last.getStart(), last.getId()))),
+                BookingSpecifications.BY_START_DESC, 0, 10);
+
+        assertEquals(secondBooking.getId(), last.getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(firstBooking.getId(), secondPage.get(0).getId());
+    }
 
-        assertEquals(2, bookings.size());
+    @Test
+    public void countPerStateTest() {
+        BookingStatsView booker = bookingRepository.countByBookerIdPerState(1L, date);
+        BookingStatsView owner = bookingRepository.countByOwnerIdPerState(2L, LocalDateTime.of(2025, 1, 1, 1, 1, 1));
+
+        assertEquals(2, booker.getTotal());
+        assertEquals(2, booker.getCurrent());
+        assertEquals(0, booker.getPast());
+        assertEquals(0, booker.getFuture());
+        assertEquals(2, booker.getWaiting());
+        assertEquals(0, booker.getRejected());
+        assertEquals(0, booker.getExpired());
+        assertEquals(2, owner.getPast());
+        assertEquals(0, owner.getCurrent());
+        assertEquals(0, bookingRepository.countByBookerIdPerState(2L, date).getTotal());
     }
 
     @Test
-    public void findAllByItemOwnerAndStartBeforeAndEndAfterTest() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfterOrderByStartDesc(2L, date, date, pageable);
+    public void scanAllTest() {
+        List<Booking> bookings = new ArrayList<>();
+        bookingRepository.scanAll(BookingSpecifications.ownerIs(2L)
+                        .and(BookingSpecifications.inState(BookingState.WAITING, date)), BookingSpecifications.BY_START_DESC,
+                1, bookings::add);
 
         assertEquals(2, bookings.size());
+        assertEquals(secondBooking.getId(), bookings.get(0).getId());
+        assertEquals(firstItem.getName(), bookings.get(1).getItem().getName());
+        assertFalse(entityManager.getEntityManager().contains(bookings.get(1)));
+        assertFalse(entityManager.getEntityManager().contains(bookings.get(1).getItem()));
     }
 
-    @Test
-    public void findAllByItemOwnerAndStatusEqualsTest() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStatusEquals(2L, WAITING, pageable);
+    private List<Booking> findAll(Specification<Booking> user, BookingState state) {
+        return bookingRepository.findAll(user.and(BookingSpecifications.inState(state, date)),
+                BookingSpecifications.BY_START_DESC, pageable.getOffset(), pageable.getPageSize());
+    }
 
-        assertEquals(2, bookings.size());
+    private void deleteInNewTransaction(Booking... bookings) {
+        entityManager.getEntityManager().getTransaction().begin();
+        bookingRepository.deleteAll(List.of(bookings));
+        entityManager.getEntityManager().getTransaction().commit();
     }
 }
@@ -9,8 +9,17 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatsView;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.overlap.BookingOverlapIndex;
 import ru.practicum.shareit.booking.service.impl.BookingServiceImpl;
 import ru.practicum.shareit.booking.util.BookingMapper;
 import ru.practicum.shareit.exceptions.*;
@@ -18,17 +27,26 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -41,6 +59,10 @@ public class BookingServiceTest {
     private ItemService itemService;
     @Mock
     private UserService userService;
+    @Mock
+    private BookingOverlapIndex bookingOverlapIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     private User firstUser;
     private User secondUser;
     private Item item;
@@ -76,6 +98,7 @@ public class BookingServiceTest {
         assertEquals(booking.getItem(), addedBooking.getItem());
         assertEquals(booking.getBooker(), addedBooking.getBooker());
         assertEquals(booking.getStatus(), addedBooking.getStatus());
+        Mockito.verify(bookingRepository).save(Mockito.argThat(b -> item.getOwner().equals(b.getOwner())));
     }
 
     @Test
@@ -101,6 +124,15 @@ public class BookingServiceTest {
         assertThrows(ValidationException.class, () -> bookingService.addBooking(BookingMapper.toBookingDto(booking), 1L));
     }
 
+    @Test
+    public void addBookingOverlapTestFail() {
+        when(itemService.getItemById(Mockito.anyLong())).thenReturn(item);
+        when(bookingOverlapIndex.overlaps(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(EntityConflictException.class, () -> bookingService.addBooking(BookingMapper.toBookingDto(booking), 1L));
+        Mockito.verify(bookingRepository, Mockito.never()).save(any());
+    }
+
     @Test
     public void addBookingItemNotFoundTestFail() {
         when(itemService.getItemById(Mockito.anyLong())).thenThrow(notFoundException);
@@ -119,23 +151,72 @@ public class BookingServiceTest {
     @Test
     public void updateBookingTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+
+        mockStatusUpdate();
 
         Booking updatedBooking = bookingService.updateBooking(1L, 2L, false);
 
         assertEquals(updatedBooking.getStatus(), REJECTED);
     }
 
+    @Test
+    public void updateBookingApproveTestSuccess() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        mockStatusUpdate();
+
+        assertEquals(APPROVED, bookingService.updateBooking(1L, 2L, true).getStatus());
+        Mockito.verify(bookingRepository).updateStatus(booking, APPROVED);
+    }
+
+    @Test
+    public void updateBookingConcurrentlyApprovedTestFail() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(booking, APPROVED)).thenAnswer(invocation -> {
+            booking.setStatus(APPROVED);
+            return false;
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.updateBooking(1L, 2L, true));
+        Mockito.verifyZeroInteractions(eventPublisher);
+    }
+
+    @Test
+    public void updateBookingConcurrentModificationTestFail() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(any(), any())).thenReturn(false);
+
+        assertThrows(EntityConflictException.class, () -> bookingService.updateBooking(1L, 2L, false));
+        Mockito.verify(bookingRepository, Mockito.times(3)).updateStatus(booking, REJECTED);
+    }
+
+    @Test
+    public void updateBookingApproveOverlapTestFail() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(any(), any())).thenThrow(new DataIntegrityViolationException("Пересечение."));
+
+        assertThrows(EntityConflictException.class, () -> bookingService.updateBooking(1L, 2L, true));
+        Mockito.verifyZeroInteractions(eventPublisher);
+    }
+
     @Test
     public void updateBookingNotFoundTestFail() {
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.updateBooking(1L, 2L, false));
     }
 
     @Test
     public void updateBookingUserNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.updateBooking(1L, 999L, false));
     }
@@ -143,7 +224,7 @@ public class BookingServiceTest {
     @Test
     public void updateBookingForbiddenAccessTestFail() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(firstUser);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
 
         assertThrows(ForbiddenAccessException.class, () -> bookingService.updateBooking(1L, 1L, false));
     }
@@ -151,15 +232,85 @@ public class BookingServiceTest {
     @Test
     public void updateBookingAlreadyApprovedTestFail() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.updateBooking(1L, 2L, true));
     }
 
+    @Test
+    public void updateBookingsTestSuccess() {
+        Booking waitingBooking = new Booking(2L, booking.getStart().plusDays(2), booking.getEnd().plusDays(2), item,
+                firstUser, WAITING);
+        Booking foreignBooking = new Booking(3L, booking.getStart(), booking.getEnd(),
+                new Item(2L, "Чужой", "Чужой", true, 1L, null), secondUser, WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(any()))
+                .thenReturn(List.of(booking, waitingBooking, foreignBooking));
+
+        List<BookingApprovalResultDto> results = bookingService.updateBookings(List.of(
+                new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(2L, true),
+                new BookingApprovalDto(3L, false),
+                new BookingApprovalDto(999L, true)), 2L);
+
+        assertEquals(4, results.size());
+        assertNull(results.get(0).getStatus());
+        assertEquals("Бронирование уже одобрено.", results.get(0).getError());
+        assertEquals(APPROVED, results.get(1).getStatus());
+        assertNull(results.get(1).getError());
+        assertNull(results.get(2).getStatus());
+        assertEquals(WAITING, foreignBooking.getStatus());
+        assertEquals(999L, results.get(3).getBookingId());
+        assertNull(results.get(3).getStatus());
+        Mockito.verify(bookingRepository).findAllWithItemAndBookerByIdIn(Set.of(1L, 2L, 3L, 999L));
+        Mockito.verify(bookingRepository).flush();
+        Mockito.verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    public void updateBookingsDuplicateIdTestFail() {
+        booking.setStatus(WAITING);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(any())).thenReturn(List.of(booking));
+
+        List<BookingApprovalResultDto> results = bookingService.updateBookings(List.of(
+                new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(1L, false)), 2L);
+
+        assertEquals(APPROVED, results.get(0).getStatus());
+        assertNull(results.get(1).getStatus());
+        assertEquals("Бронь с id 1 указана в запросе повторно.", results.get(1).getError());
+        assertEquals(APPROVED, booking.getStatus());
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    public void updateBookingsOverlapTestFail() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(any())).thenReturn(List.of(booking));
+        Mockito.doThrow(new DataIntegrityViolationException("Пересечение.")).when(bookingRepository).flush();
+
+        assertThrows(EntityConflictException.class, () ->
+                bookingService.updateBookings(List.of(new BookingApprovalDto(1L, true)), 2L));
+        Mockito.verifyZeroInteractions(eventPublisher);
+    }
+
+    @Test
+    public void updateBookingsConcurrentModificationTestFail() {
+        booking.setStatus(WAITING);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(any())).thenReturn(List.of(booking));
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L)).when(bookingRepository).flush();
+
+        assertThrows(EntityConflictException.class, () ->
+                bookingService.updateBookings(List.of(new BookingApprovalDto(1L, false)), 2L));
+        Mockito.verifyZeroInteractions(eventPublisher);
+    }
+
     @Test
     public void getBookingByIdTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(item);
 
         assertEquals(1L, bookingService.getBookingById(1L, 2L).getId());
@@ -168,14 +319,14 @@ public class BookingServiceTest {
     @Test
     public void getBookingByIdNotFoundTestFail() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingById(1L, 2L));
     }
 
     @Test
     public void getBookingByIdUserNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingById(1L, 999L));
     }
@@ -183,7 +334,7 @@ public class BookingServiceTest {
     @Test
     public void getBookingByIdForbiddenAccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(new User(3L, "Имя третьего", "third@email.com"));
-        when(bookingRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(Mockito.anyLong())).thenReturn(Optional.of(booking));
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(item);
 
         assertThrows(ForbiddenAccessException.class, () -> bookingService.getBookingById(1L, 3L));
@@ -192,7 +343,7 @@ public class BookingServiceTest {
     @Test
     public void getAllBookingsByUserIdTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(firstUser);
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(Mockito.anyLong(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(any(), any(), Mockito.eq(0L), Mockito.eq(10))).thenReturn(List.of(booking));
 
         List<Booking> bookings = bookingService.getAllBookingsByUserId(1L, "ALL", 0, 10);
 
@@ -201,7 +352,7 @@ public class BookingServiceTest {
 
     @Test
     public void getAllBookingsByUserIdNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllBookingsByUserId(1L, "ALL", 0, 10));
     }
@@ -213,10 +364,77 @@ public class BookingServiceTest {
         assertThrows(UnsupportedStateException.class, () -> bookingService.getAllBookingsByUserId(1L, "UNSUPPORTED", 0, 10));
     }
 
+    @Test
+    public void getAllBookingsByUserIdAfterCursorTestSuccess() {
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(firstUser);
+        when(bookingRepository.findAll(any(), any(), Mockito.eq(0L), Mockito.eq(1))).thenReturn(List.of(booking));
+
+        CursorPage<Booking> page = bookingService.getAllBookingsByUserId(1L, "PAST", (Cursor) null, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(Cursor.of(booking.getStart(), booking.getId()), page.getNext());
+    }
+
+    @Test
+    public void getAllBookingsByOwnerIdAfterCursorTestSuccess() {
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(bookingRepository.findAll(any(), any(), Mockito.eq(0L), Mockito.eq(10))).thenReturn(List.of(booking));
+
+        CursorPage<Booking> page = bookingService.getAllBookingsByOwnerId(2L, "ALL",
+                Cursor.of(booking.getEnd(), 5L), 10);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNext());
+        assertThrows(UnsupportedStateException.class, () -> bookingService.getAllBookingsByOwnerId(2L, "UNSUPPORTED",
+                (Cursor) null, 10));
+    }
+
+    @Test
+    public void getBookingStatsTestSuccess() {
+        BookingStatsView stats = Mockito.mock(BookingStatsView.class);
+        when(stats.getTotal()).thenReturn(3L);
+        when(stats.getWaiting()).thenReturn(1L);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(firstUser);
+        when(bookingRepository.countByBookerIdPerState(Mockito.eq(1L), any())).thenReturn(stats);
+        when(bookingRepository.countByOwnerIdPerState(Mockito.eq(1L), any())).thenReturn(stats);
+
+        BookingStatsDto byBooker = bookingService.getBookingStatsByUserId(1L);
+        BookingStatsDto byOwner = bookingService.getBookingStatsByOwnerId(1L);
+
+        assertEquals(3L, byBooker.getAll());
+        assertEquals(1L, byBooker.getWaiting());
+        assertEquals(byBooker, byOwner);
+    }
+
+    @Test
+    public void getBookingStatsNotFoundTestFail() {
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingStatsByUserId(1L));
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingStatsByOwnerId(1L));
+    }
+
+    @Test
+    public void exportBookingsTestSuccess() {
+        List<Booking> exported = new ArrayList<>();
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        doAnswer(invocation -> {
+            Consumer<Booking> consumer = invocation.getArgument(3);
+            consumer.accept(booking);
+            return null;
+        }).when(bookingRepository).scanAll(any(), any(), Mockito.anyInt(), any());
+
+        bookingService.exportBookings(2L, "WAITING", true, exported::add);
+
+        assertEquals(List.of(booking), exported);
+        assertThrows(UnsupportedStateException.class, () -> bookingService.exportBookings(2L, "UNSUPPORTED", false,
+                exported::add));
+    }
+
     @Test
     public void getAllBookingsByOwnerIdTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
-        when(bookingRepository.findAllByItemOwnerOrderByStartDesc(Mockito.anyLong(), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(any(), any(), Mockito.eq(0L), Mockito.eq(10))).thenReturn(List.of(booking));
 
         List<Booking> bookings = bookingService.getAllBookingsByOwnerId(2L, "ALL", 0, 10);
 
@@ -225,7 +443,7 @@ public class BookingServiceTest {
 
     @Test
     public void getAllBookingsByOwnerIdNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllBookingsByOwnerId(2L, "ALL", 0, 10));
     }
@@ -236,4 +454,11 @@ public class BookingServiceTest {
 
         assertThrows(UnsupportedStateException.class, () -> bookingService.getAllBookingsByOwnerId(2L, "UNSUPPORTED", 0, 10));
     }
+
+    private void mockStatusUpdate() {
+        when(bookingRepository.updateStatus(any(), any())).thenAnswer(invocation -> {
+            ((Booking) invocation.getArgument(0)).setStatus(invocation.getArgument(1));
+            return true;
+        });
+    }
 }
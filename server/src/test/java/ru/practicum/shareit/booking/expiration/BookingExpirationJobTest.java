@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.expiration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.overlap.BookingOverlapIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.EXPIRED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
+
+public class BookingExpirationJobTest {
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private BookingRepository bookingRepository;
+    private BookingOverlapIndex bookingOverlapIndex;
+    private MeterRegistry meterRegistry;
+    private BookingExpirationJob job;
+
+    @BeforeEach
+    public void beforeEach() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        bookingOverlapIndex = Mockito.mock(BookingOverlapIndex.class);
+        meterRegistry = new SimpleMeterRegistry();
+        job = new BookingExpirationJob(bookingRepository, bookingOverlapIndex, meterRegistry, 2);
+    }
+
+    @Test
+    public void expireInChunksTest() {
+        BookingDto first = new BookingDto(1L, now.minusDays(2), now.minusDays(1), 10L, 100L, WAITING);
+        BookingDto second = new BookingDto(2L, now.minusDays(2), now.minusDays(1), 11L, 100L, WAITING);
+        BookingDto third = new BookingDto(5L, now.minusDays(2), now.minusDays(1), 10L, 100L, WAITING);
+        when(bookingRepository.findAllDtoByStatusAndStartBeforeAndIdAfter(eq(WAITING), eq(now), eq(0L),
+                any(Pageable.class))).thenReturn(List.of(first, second));
+        when(bookingRepository.findAllDtoByStatusAndStartBeforeAndIdAfter(eq(WAITING), eq(now), eq(2L),
+                any(Pageable.class))).thenReturn(List.of(third));
+        when(bookingRepository.updateStatusByIdInAndStartBefore(List.of(1L, 2L), now, WAITING, EXPIRED)).thenReturn(2);
+        when(bookingRepository.updateStatusByIdInAndStartBefore(List.of(5L), now, WAITING, EXPIRED)).thenReturn(1);
+
+        job.expire(now);
+
+        verify(bookingOverlapIndex).evict(Set.of(10L, 11L));
+        verify(bookingOverlapIndex).evict(Set.of(10L));
+        assertEquals(3.0, meterRegistry.counter("shareit.bookings.expired").count());
+    }
+
+    @Test
+    public void expireNothingTest() {
+        when(bookingRepository.findAllDtoByStatusAndStartBeforeAndIdAfter(eq(WAITING), eq(now), eq(0L),
+                any(Pageable.class))).thenReturn(List.of());
+
+        job.expire(now);
+
+        verify(bookingRepository, never()).updateStatusByIdInAndStartBefore(anyCollection(), any(), any(), any());
+        assertEquals(0.0, meterRegistry.counter("shareit.bookings.expired").count());
+    }
+}
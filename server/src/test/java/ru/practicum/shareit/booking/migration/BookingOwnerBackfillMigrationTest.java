@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingOwnerBackfillMigrationTest {
+    private final BookingOwnerBackfillMigration migration = new BookingOwnerBackfillMigration();
+
+    @Test
+    public void migrationRunsOutsideTransactionTest() {
+        assertEquals(MigrationVersion.fromVersion("3.1"), migration.getVersion());
+        assertFalse(migration.canExecuteInTransaction());
+    }
+
+    @Test
+    public void backfillInBatchesTest() throws Exception {
+        Context context = Mockito.mock(Context.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Statement statement = Mockito.mock(Statement.class);
+        ResultSet maxId = Mockito.mock(ResultSet.class);
+        PreparedStatement update = Mockito.mock(PreparedStatement.class);
+        when(context.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(update);
+        when(statement.executeQuery(anyString())).thenReturn(maxId);
+        when(maxId.next()).thenReturn(true);
+        when(maxId.getLong(1)).thenReturn(BookingOwnerBackfillMigration.BATCH_SIZE + 1L,
+                BookingOwnerBackfillMigration.BATCH_SIZE * 2L);
+
+        migration.migrate(context);
+
+        InOrder order = inOrder(statement);
+        order.verify(statement).executeQuery(startsWith("SELECT COALESCE(MAX(booking_id)"));
+        order.verify(statement).execute(startsWith("ALTER TABLE bookings_model ADD CONSTRAINT"));
+        order.verify(statement).executeQuery(startsWith("SELECT COALESCE(MAX(booking_id)"));
+        verify(update, times(5)).executeUpdate();
+        verify(update).setLong(1, BookingOwnerBackfillMigration.BATCH_SIZE * 2L);
+    }
+}
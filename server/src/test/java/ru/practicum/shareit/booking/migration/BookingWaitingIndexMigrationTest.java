@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+public class BookingWaitingIndexMigrationTest {
+    private final BookingWaitingIndexMigration migration = new BookingWaitingIndexMigration();
+
+    @Test
+    public void indexBuiltPerPartitionTest() throws Exception {
+        Context context = Mockito.mock(Context.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Statement statement = Mockito.mock(Statement.class);
+        ResultSet partitions = Mockito.mock(ResultSet.class);
+        when(context.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(partitions);
+        when(partitions.next()).thenReturn(true, true, false);
+        when(partitions.getString(1)).thenReturn("bookings_model_default", "bookings_model_legacy");
+        when(partitions.getString(2)).thenReturn("bookings_model_default_waiting_id_idx",
+                "bookings_model_legacy_waiting_id_idx");
+
+        migration.migrate(context);
+
+        assertFalse(migration.canExecuteInTransaction());
+        InOrder order = inOrder(statement);
+        order.verify(statement).execute(startsWith("CREATE INDEX IF NOT EXISTS bookings_waiting_id_idx ON ONLY"));
+        order.verify(statement).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS " +
+                "bookings_model_default_waiting_id_idx ON bookings_model_default"));
+        order.verify(statement).execute("ALTER INDEX bookings_waiting_id_idx ATTACH PARTITION " +
+                "bookings_model_default_waiting_id_idx");
+        order.verify(statement).execute(startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS " +
+                "bookings_model_legacy_waiting_id_idx ON bookings_model_legacy"));
+        order.verify(statement).execute("ALTER INDEX bookings_waiting_id_idx ATTACH PARTITION " +
+                "bookings_model_legacy_waiting_id_idx");
+    }
+}
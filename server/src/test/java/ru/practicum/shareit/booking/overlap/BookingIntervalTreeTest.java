@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BookingIntervalTreeTest {
+    private final LocalDateTime date = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    public void overlapsTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, date, date.plusDays(2));
+        tree.put(2L, date.plusDays(5), date.plusDays(6));
+
+        assertTrue(tree.overlaps(date.plusDays(1), date.plusDays(3)));
+        assertTrue(tree.overlaps(date.minusDays(1), date.plusDays(10)));
+        assertFalse(tree.overlaps(date.plusDays(2), date.plusDays(5)));
+        assertFalse(tree.overlaps(date.minusDays(1), date));
+    }
+
+    @Test
+    public void putAndRemoveTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, date, date.plusDays(2));
+        tree.put(1L, date.plusDays(3), date.plusDays(4));
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(date, date.plusDays(1)));
+
+        tree.remove(1L);
+        tree.remove(2L);
+
+        assertEquals(0, tree.size());
+        assertFalse(tree.overlaps(date.plusDays(3), date.plusDays(4)));
+    }
+
+    @Test
+    public void overlapsMatchesBruteForceTest() {
+        Random random = new Random(42);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        Map<Long, LocalDateTime[]> intervals = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            if (!intervals.isEmpty() && random.nextInt(4) == 0) {
+                Long removed = intervals.keySet().iterator().next();
+                intervals.remove(removed);
+                tree.remove(removed);
+            }
+            LocalDateTime start = date.plusHours(random.nextInt(10000));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            intervals.put(id, new LocalDateTime[]{start, end});
+            tree.put(id, start, end);
+
+            LocalDateTime from = date.plusHours(random.nextInt(10000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(48));
+            boolean expected = intervals.values().stream()
+                    .anyMatch(i -> i[0].isBefore(to) && i[1].isAfter(from));
+            assertEquals(expected, tree.overlaps(from, to));
+        }
+        assertEquals(intervals.size(), tree.size());
+    }
+
+    @Test
+    public void removeEndedByTest() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.put(1L, date, date.plusDays(2));
+        tree.put(2L, date.plusDays(1), date.plusDays(3));
+        tree.put(3L, date.plusDays(5), date.plusDays(6));
+
+        tree.removeEndedBy(date.plusDays(3));
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(date, date.plusDays(4)));
+        assertTrue(tree.overlaps(date.plusDays(4), date.plusDays(6)));
+    }
+}
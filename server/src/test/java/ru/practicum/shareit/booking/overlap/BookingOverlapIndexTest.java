@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
+
+public class BookingOverlapIndexTest {
+    private final LocalDateTime date = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private BookingRepository bookingRepository;
+    private BookingOverlapIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        when(bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(eq(1L), any(), any())).thenReturn(List.of(
+                new BookingDto(1L, date, date.plusDays(2), 1L, 2L, APPROVED)));
+        index = new BookingOverlapIndex(bookingRepository, 1);
+    }
+
+    @Test
+    public void overlapsLoadsItemOnceTest() {
+        assertTrue(index.overlaps(1L, date.plusDays(1), date.plusDays(3)));
+        assertFalse(index.overlaps(1L, date.plusDays(2), date.plusDays(3)));
+
+        verify(bookingRepository, times(1)).findAllDtoByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    @Test
+    public void onBookingChangedTest() {
+        index.overlaps(1L, date, date.plusDays(1));
+
+        index.onBookingChanged(new BookingChangedEvent(2L, 1L, date.plusDays(5), date.plusDays(6), null, WAITING));
+        assertTrue(index.overlaps(1L, date.plusDays(5), date.plusDays(7)));
+
+        index.onBookingChanged(new BookingChangedEvent(2L, 1L, date.plusDays(5), date.plusDays(6), WAITING, REJECTED));
+        assertFalse(index.overlaps(1L, date.plusDays(5), date.plusDays(7)));
+    }
+
+    @Test
+    public void leastRecentlyUsedItemEvictedTest() {
+        index.overlaps(1L, date, date.plusDays(1));
+        index.overlaps(2L, date, date.plusDays(1));
+        index.onBookingChanged(new BookingChangedEvent(3L, 1L, date.plusDays(5), date.plusDays(6), null, WAITING));
+
+        assertFalse(index.overlaps(1L, date.plusDays(5), date.plusDays(6)));
+        verify(bookingRepository, times(2)).findAllDtoByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    @Test
+    public void endedIntervalsPrunedTest() {
+        LocalDateTime past = LocalDateTime.now().minusDays(10);
+        index.overlaps(1L, date, date.plusDays(1));
+        index.onBookingChanged(new BookingChangedEvent(3L, 1L, past, past.plusDays(2), null, APPROVED));
+
+        assertFalse(index.overlaps(1L, past.plusDays(1), past.plusDays(3)));
+    }
+
+    @Test
+    public void treeChangedWhileLoadingNotCachedTest() {
+        when(bookingRepository.findAllDtoByItemIdAndStatusInAndEndAfter(eq(2L), any(), any())).thenAnswer(invocation -> {
+            index.onBookingChanged(new BookingChangedEvent(4L, 2L, date, date.plusDays(1), null, WAITING));
+            return List.of();
+        });
+
+        index.overlaps(2L, date, date.plusDays(1));
+        index.overlaps(2L, date, date.plusDays(1));
+
+        verify(bookingRepository, times(2)).findAllDtoByItemIdAndStatusInAndEndAfter(eq(2L), any(), any());
+    }
+}
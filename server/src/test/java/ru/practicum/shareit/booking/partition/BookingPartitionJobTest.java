@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingPartitionJobTest {
+    private JdbcTemplate jdbcTemplate;
+    private BookingPartitionJob job;
+
+    @BeforeEach
+    public void beforeEach() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        job = new BookingPartitionJob(jdbcTemplate, 2, 12, 100);
+    }
+
+    @Test
+    public void createPartitionsAheadTest() {
+        when(jdbcTemplate.queryForObject(any(String.class), eq(Boolean.class), any())).thenReturn(true);
+
+        job.createPartitions(LocalDate.of(2030, 11, 1));
+
+        verify(jdbcTemplate, times(3)).queryForObject(any(String.class), eq(Boolean.class), any());
+        verify(jdbcTemplate).queryForObject("SELECT bookings_create_partition(?)", Boolean.class,
+                Date.valueOf(LocalDate.of(2030, 11, 1)));
+        verify(jdbcTemplate).queryForObject("SELECT bookings_create_partition(?)", Boolean.class,
+                Date.valueOf(LocalDate.of(2031, 1, 1)));
+    }
+
+    @Test
+    public void archiveLegacyInBatchesTest() {
+        LocalDateTime horizon = LocalDateTime.of(2029, 11, 1, 0, 0);
+        when(jdbcTemplate.queryForObject(any(String.class), eq(Long.class), any(), any(), any()))
+                .thenReturn(100L, 200L, null);
+
+        job.archiveLegacy(horizon);
+
+        verify(jdbcTemplate).queryForObject("SELECT bookings_archive_legacy_batch(?, ?, ?)", Long.class,
+                Timestamp.valueOf(horizon), 0L, 100);
+        verify(jdbcTemplate).queryForObject("SELECT bookings_archive_legacy_batch(?, ?, ?)", Long.class,
+                Timestamp.valueOf(horizon), 200L, 100);
+        verify(jdbcTemplate, times(3)).queryForObject(any(String.class), eq(Long.class), any(), any(), any());
+    }
+
+    @Test
+    public void archivePartitionsTest() {
+        LocalDateTime horizon = LocalDateTime.of(2029, 11, 1, 0, 0);
+        when(jdbcTemplate.queryForObject(any(String.class), eq(Integer.class), any())).thenReturn(1);
+
+        job.archivePartitions(horizon);
+
+        verify(jdbcTemplate).queryForObject("SELECT bookings_archive_partitions(?)", Integer.class,
+                Timestamp.valueOf(horizon));
+    }
+}
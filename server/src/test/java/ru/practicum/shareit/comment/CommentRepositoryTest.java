@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.comment.dao.CommentRepository;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class CommentRepositoryTest {
@@ -62,4 +64,13 @@ public class CommentRepositoryTest {
 
         assertEquals(2, comments.size());
     }
+
+    @Test
+    public void findAllDtoByItemIdInTest() {
+        List<CommentDto> comments = commentRepository.findAllDtoByItemIdIn(List.of(item.getId()));
+
+        assertEquals(2, comments.size());
+        assertTrue(comments.stream().anyMatch(c -> c.getAuthorName().equals("Имя второго")));
+        assertTrue(comments.stream().allMatch(c -> c.getItemId().equals(item.getId())));
+    }
 }
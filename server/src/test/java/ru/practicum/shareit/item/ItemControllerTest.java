@@ -15,9 +15,13 @@ import ru.practicum.shareit.exceptions.EntityAvailabilityException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IllegalEntityAccessException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.CalendarIntervalDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.util.ItemMapper;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +31,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -244,6 +249,18 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    public void getAllByTextAfterCursorSuccess() throws Exception {
+        Cursor next = Cursor.of(0.5f, correctItem.getId());
+        when(itemService.getItemsByText(Mockito.anyString(), Mockito.<Cursor>any(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(correctItem), next));
+
+        mockMvc.perform(get("/items/search?text=предмет&after=&size=1"))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next.encode()))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     public void getAllByUserIdNotFoundFail() throws Exception {
         when(itemService.getAllItemsByUserId(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt())).thenThrow(notFoundException);
@@ -264,6 +281,29 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    public void getAllByFuzzyTextSuccess() throws Exception {
+        when(itemService.getItemsByFuzzyText(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(correctItem));
+
+        mockMvc.perform(get("/items/search?text=предмт&fuzzy=true&from=0&size=10")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$", hasSize(1)));
+        Mockito.verify(itemService, Mockito.never()).getItemsByText(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void getItemNameSuggestionsSuccess() throws Exception {
+        when(itemService.getItemNameSuggestions(Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(List.of("Корректный предмет"));
+
+        mockMvc.perform(get("/items/autocomplete?prefix=корр&size=5"))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]", is("Корректный предмет")));
+    }
+
     @Test
     public void addCommentSuccess() throws Exception {
         when(itemService.addComment(any(), Mockito.anyLong(), Mockito.anyLong())).thenReturn(commentDto);
@@ -302,4 +342,33 @@ public class ItemControllerTest {
                 .andExpect(status().is4xxClientError())
                 .andExpect(jsonPath("$.error", is("Недоступность объекта.")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getItemCalendarTestSuccess() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemService.getItemCalendar(1L, from, to)).thenReturn(new ItemCalendarDto(1L, from, to,
+                List.of(new CalendarIntervalDto(from, from.plusDays(2))),
+                List.of(new CalendarIntervalDto(from.plusDays(2), to))));
+
+        mockMvc.perform(get("/items/1/calendar")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].end", is("2030-01-03T00:00:00")))
+                .andExpect(jsonPath("$.free[0].start", is("2030-01-03T00:00:00")));
+    }
+
+    @Test
+    public void getItemCalendarIllegalPeriodTestFail() throws Exception {
+        when(itemService.getItemCalendar(Mockito.anyLong(), any(), any())).thenThrow(validationException);
+
+        mockMvc.perform(get("/items/1/calendar")
+                        .param("from", "2030-01-11T00:00:00")
+                        .param("to", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Ошибка валидации.")));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -67,10 +68,34 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    public void findAllByOwnerTest() {
-        List<Item> items = itemRepository.findAllByOwner(1L, pageable);
+    public void findAllDtoByOwnerTest() {
+        List<ItemDtoWithBooking> items = itemRepository.findAllDtoByOwner(1L, pageable);
 
         assertEquals(2, items.size());
+        assertEquals(firstItem.getId(), items.get(0).getId());
+        assertEquals("Описание первого", items.get(0).getDescription());
+        assertEquals(firstRequest.getId(), items.get(0).getRequestId());
+        assertNull(items.get(0).getComments());
+    }
+
+    @Test
+    public void findAllDtoByOwnerAfterTest() {
+        List<ItemDtoWithBooking> firstPage = itemRepository.findAllDtoByOwnerAfter(1L, 0L, PageableMaker.makeFirstPage(1));
+        List<ItemDtoWithBooking> secondPage = itemRepository.findAllDtoByOwnerAfter(1L, firstPage.get(0).getId(),
+                PageableMaker.makeFirstPage(10));
+
+        assertEquals(firstItem.getId(), firstPage.get(0).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(secondItem.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    public void findDtoByIdTest() {
+        ItemDtoWithBooking item = itemRepository.findDtoById(thirdItem.getId()).orElseThrow();
+
+        assertEquals("Название третьего", item.getName());
+        assertEquals(2L, item.getOwner());
+        assertTrue(itemRepository.findDtoById(999L).isEmpty());
     }
 
     @Test
@@ -86,4 +111,12 @@ public class ItemRepositoryTest {
 
         assertEquals(1, items.size());
     }
+
+    @Test
+    public void findByTextAfterTest() {
+        List<Item> items = itemRepository.findByTextAfter("назв", secondItem.getId(), PageableMaker.makeFirstPage(10));
+
+        assertEquals(1, items.size());
+        assertEquals(thirdItem.getId(), items.get(0).getId());
+    }
 }
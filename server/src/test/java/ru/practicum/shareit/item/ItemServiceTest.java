@@ -9,7 +9,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.util.BookingMapper;
 import ru.practicum.shareit.comment.dao.CommentRepository;
@@ -19,19 +21,30 @@ import ru.practicum.shareit.comment.util.CommentMapper;
 import ru.practicum.shareit.exceptions.EntityAvailabilityException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IllegalEntityAccessException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CalendarIntervalDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.cache.ItemSearchCache;
+import ru.practicum.shareit.item.search.fuzzy.FuzzyItemIndex;
+import ru.practicum.shareit.item.search.suggest.ItemSuggestionIndex;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.model.enums.BookingStatus.APPROVED;
 
@@ -48,9 +61,20 @@ public class ItemServiceTest {
     private BookingRepository bookingRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemSearchCache itemSearchCache;
+    @Mock
+    private ItemSuggestionIndex itemSuggestionIndex;
+    @Mock
+    private FuzzyItemIndex fuzzyItemIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     private User user;
     private Item item;
     private Booking booking;
+    private BookingView bookingView;
     private Comment comment;
     private final EntityNotFoundException notFoundException = new EntityNotFoundException("Не найдено.");
 
@@ -66,6 +90,7 @@ public class ItemServiceTest {
                 user,
                 APPROVED
         );
+        bookingView = bookingView(booking);
         comment = new Comment(1L, "Текст", user, 1L, LocalDateTime.now());
     }
 
@@ -86,7 +111,7 @@ public class ItemServiceTest {
 
     @Test
     public void addItemUserNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.addItem(999L, item));
     }
@@ -157,9 +182,9 @@ public class ItemServiceTest {
 
     @Test
     public void getItemDtoByIdTestSuccess() {
-        when(commentRepository.findAllByItemId(Mockito.anyLong())).thenReturn(List.of(comment));
-        when(bookingRepository.findByItemIdAndStartAfterAndStatus(Mockito.anyLong(), any(), any())).thenReturn(booking);
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findAllDtoByItemIdIn(any())).thenReturn(List.of(CommentMapper.toCommentDto(comment)));
+        when(bookingRepository.findNextBookingsByItemIds(any(), any())).thenReturn(List.of(bookingView));
+        when(itemRepository.findDtoById(Mockito.anyLong())).thenReturn(Optional.of(toItemDto(item)));
 
         ItemDtoWithBooking itemDto = itemService.getItemDtoById(1L, 1L);
 
@@ -176,36 +201,142 @@ public class ItemServiceTest {
 
     @Test
     public void getItemDtoByIdNotFoundTestFail() {
-        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findDtoById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getItemDtoById(1L, 1L));
     }
 
+    @Test
+    public void getItemCalendarTestSuccess() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(Mockito.anyLong(), any(), any(), any()))
+                .thenReturn(List.of(
+                        new CalendarIntervalDto(from.minusDays(1), from.plusDays(1)),
+                        new CalendarIntervalDto(from.plusDays(1), from.plusDays(2)),
+                        new CalendarIntervalDto(from.plusDays(1).plusHours(1), from.plusDays(1).plusHours(2)),
+                        new CalendarIntervalDto(from.plusDays(4), from.plusDays(5)),
+                        new CalendarIntervalDto(from.plusDays(6), from.plusDays(12))));
+
+        ItemCalendarDto calendar = itemService.getItemCalendar(1L, from, from.plusDays(10));
+
+        assertEquals(List.of(
+                new CalendarIntervalDto(from, from.plusDays(2)),
+                new CalendarIntervalDto(from.plusDays(4), from.plusDays(5)),
+                new CalendarIntervalDto(from.plusDays(6), from.plusDays(10))), calendar.getBusy());
+        assertEquals(List.of(
+                new CalendarIntervalDto(from.plusDays(2), from.plusDays(4)),
+                new CalendarIntervalDto(from.plusDays(5), from.plusDays(6))), calendar.getFree());
+    }
+
+    @Test
+    public void getItemCalendarWithoutBookingsTestSuccess() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(bookingRepository.findAllIntervalsByItemIdAndStatusInBetween(Mockito.anyLong(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        ItemCalendarDto calendar = itemService.getItemCalendar(1L, from, from.plusDays(10));
+
+        assertTrue(calendar.getBusy().isEmpty());
+        assertEquals(List.of(new CalendarIntervalDto(from, from.plusDays(10))), calendar.getFree());
+    }
+
+    @Test
+    public void getItemCalendarIllegalPeriodTestFail() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(ValidationException.class, () -> itemService.getItemCalendar(1L, from, from));
+    }
+
+    @Test
+    public void getItemCalendarNotFoundTestFail() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.getItemCalendar(1L, from, from.plusDays(1)));
+    }
+
     @Test
     public void getAllItemsByUserIdTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(user);
-        when(itemRepository.findAllByOwner(Mockito.anyLong(), any())).thenReturn(List.of(item));
+        when(itemRepository.findAllDtoByOwner(Mockito.anyLong(), any())).thenReturn(List.of(toItemDto(item)));
+        when(bookingRepository.findNextBookingsByItemIds(any(), any())).thenReturn(List.of(bookingView));
+        when(commentRepository.findAllDtoByItemIdIn(any())).thenReturn(List.of(CommentMapper.toCommentDto(comment)));
 
         List<ItemDtoWithBooking> items = itemService.getAllItemsByUserId(1L, 0, 10);
 
         assertEquals(1, items.size());
+        assertNull(items.get(0).getLastBooking());
+        assertEquals(BookingMapper.toBookingDto(booking), items.get(0).getNextBooking());
+        assertEquals(1, items.get(0).getComments().size());
+    }
+
+    @Test
+    public void getAllItemsByUserIdAfterCursorTestSuccess() {
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(user);
+        when(itemRepository.findAllDtoByOwnerAfter(Mockito.anyLong(), Mockito.eq(0L), any()))
+                .thenReturn(List.of(toItemDto(item)));
+        when(commentRepository.findAllDtoByItemIdIn(any())).thenReturn(List.of(CommentMapper.toCommentDto(comment)));
+
+        CursorPage<ItemDtoWithBooking> page = itemService.getAllItemsByUserId(1L, (Cursor) null, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(1, page.getContent().get(0).getComments().size());
+        assertEquals(Cursor.of(item.getId()), page.getNext());
     }
 
     @Test
     public void getAllItemsByUserIdNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getAllItemsByUserId(999L, 0, 10));
     }
 
     @Test
     public void getItemsByTextTestSuccess() {
-        when(itemRepository.findByText(Mockito.anyString(), any())).thenReturn(List.of(item));
+        when(itemSearchEngine.search(Mockito.anyString(), any())).thenReturn(List.of(item));
+        when(itemSearchCache.get(Mockito.anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<Item>>>getArgument(2).get());
 
         assertEquals(1, itemService.getItemsByText("Название", 0, 10).size());
         assertEquals(0, itemService.getItemsByText("", 0, 10).size());
     }
 
+    @Test
+    public void getItemsByFuzzyTextTestSuccess() {
+        Item other = new Item(2L, "Другое", "Описание", true, 1L, null);
+        Item unavailable = new Item(3L, "Название", "Описание", false, 1L, null);
+        when(fuzzyItemIndex.search(Mockito.anyString(), any())).thenReturn(List.of(2L, 3L, 1L));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item, other, unavailable));
+
+        assertEquals(List.of(other, item), itemService.getItemsByFuzzyText("Назвние", 0, 10));
+        assertEquals(0, itemService.getItemsByFuzzyText(" ", 0, 10).size());
+    }
+
+    @Test
+    public void getItemsByTextAfterCursorTestSuccess() {
+        Cursor next = Cursor.of(item.getId());
+        when(itemSearchEngine.search(Mockito.anyString(), any(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(item), next));
+        when(fuzzyItemIndex.search(Mockito.anyString(), any(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(item.getId()), null));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+
+        assertEquals(next, itemService.getItemsByText("Название", (Cursor) null, 1).getNext());
+        assertEquals(List.of(item), itemService.getItemsByFuzzyText("Назвние", next, 1).getContent());
+        assertTrue(itemService.getItemsByText(" ", (Cursor) null, 1).getContent().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemsByText("Название", (Cursor) null, 0));
+    }
+
+    @Test
+    public void getItemNameSuggestionsTestSuccess() {
+        when(itemSuggestionIndex.suggest(Mockito.anyString(), Mockito.anyInt())).thenReturn(List.of("Название"));
+
+        assertEquals(List.of("Название"), itemService.getItemNameSuggestions("наз", 5));
+        assertThrows(IllegalArgumentException.class, () -> itemService.getItemNameSuggestions("наз", 0));
+    }
+
     @Test
     public void addCommentTestSuccess() {
         when(userService.getUserById(Mockito.anyLong())).thenReturn(user);
@@ -240,4 +371,20 @@ public class ItemServiceTest {
 
         assertEquals(1, itemService.getAllItemsByRequestId(1L).size());
     }
+
+    private ItemDtoWithBooking toItemDto(Item item) {
+        return new ItemDtoWithBooking(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner(), item.getRequestId());
+    }
+
+    private BookingView bookingView(Booking booking) {
+        BookingView view = Mockito.mock(BookingView.class);
+        when(view.getId()).thenReturn(booking.getId());
+        when(view.getStart()).thenReturn(booking.getStart());
+        when(view.getEnd()).thenReturn(booking.getEnd());
+        when(view.getItemId()).thenReturn(booking.getItem().getId());
+        when(view.getBookerId()).thenReturn(booking.getBooker().getId());
+        when(view.getStatus()).thenReturn(booking.getStatus());
+        return view;
+    }
 }
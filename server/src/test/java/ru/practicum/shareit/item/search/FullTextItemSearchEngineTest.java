@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.impl.FullTextItemSearchEngine;
+import ru.practicum.shareit.item.dto.ItemSearchHit;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.PageableMaker;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FullTextItemSearchEngineTest {
+    @InjectMocks
+    private FullTextItemSearchEngine searchEngine;
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Test
+    public void searchBuildsPrefixQueryTest() {
+        Item item = new Item(1L, "Дрель", "Аккумуляторная дрель", true, 1L, null);
+        when(itemRepository.findByFullText(Mockito.anyString(), any())).thenReturn(List.of(item));
+
+        List<Item> items = searchEngine.search("  Дрель, Makita!", PageableMaker.makePage(0, 10));
+
+        assertEquals(1, items.size());
+        verify(itemRepository).findByFullText(eq("дрель:* & makita:*"), any());
+    }
+
+    @Test
+    public void searchAfterCursorTest() {
+        Item item = new Item(1L, "Дрель", "Аккумуляторная дрель", true, 1L, null);
+        ItemSearchHit hit = new ItemSearchHit() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public Float getRank() {
+                return 0.5f;
+            }
+        };
+        when(itemRepository.findByFullTextAfter(Mockito.anyString(), Mockito.anyFloat(), Mockito.anyLong(), any()))
+                .thenReturn(List.of(hit));
+        when(itemRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(item));
+
+        CursorPage<Item> page = searchEngine.search("дрель", Cursor.of(0.7f, 3L), 1);
+
+        assertEquals(List.of(item), page.getContent());
+        assertEquals(Cursor.of(0.5f, item.getId()), page.getNext());
+        verify(itemRepository).findByFullTextAfter(eq("дрель:*"), eq(0.7f), eq(3L), any());
+    }
+
+    @Test
+    public void searchWithoutWordsTest() {
+        assertTrue(searchEngine.search("&|!:*", PageableMaker.makePage(0, 10)).isEmpty());
+        Mockito.verifyZeroInteractions(itemRepository);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.fuzzy.FuzzyItemIndex;
+import ru.practicum.shareit.item.util.ItemMapper;
+import ru.practicum.shareit.util.CursorPage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class FuzzyItemIndexTest {
+    private FuzzyItemIndex index;
+    private Item drill;
+
+    @BeforeEach
+    public void beforeEach() {
+        drill = new Item(1L, "Дрель", "Аккумуляторная дрель", true, 1L, null);
+        Item hammerDrill = new Item(2L, "Перфоратор", "Дрель с ударом", true, 1L, null);
+        Item unavailable = new Item(3L, "Дрель", "Сломана", false, 2L, null);
+        ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(drill, hammerDrill, unavailable)));
+        index = new FuzzyItemIndex(itemRepository);
+        index.rebuild();
+    }
+
+    @Test
+    public void searchWithTypoTest() {
+        assertEquals(List.of(1L, 2L), index.search("дрел", PageRequest.of(0, 10)));
+        assertEquals(List.of(2L), index.search("пефоратор", PageRequest.of(0, 10)));
+        assertEquals(List.of(1L), index.search("акамуляторная дрел", PageRequest.of(0, 10)));
+        assertTrue(index.search("молоток", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search(" ", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    public void searchRankedByDistanceTest() {
+        index.onItemChanged(ItemChangedEvent.added(new ItemDto(4L, "Дрели", "Набор", true, 2L, null)));
+
+        assertEquals(List.of(4L, 1L, 2L), index.search("дрели", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void searchPagedTest() {
+        assertEquals(List.of(1L), index.search("дрель", PageRequest.of(0, 1)));
+        assertEquals(List.of(2L), index.search("дрель", PageRequest.of(1, 1)));
+    }
+
+    @Test
+    public void searchAfterCursorTest() {
+        index.onItemChanged(ItemChangedEvent.added(new ItemDto(4L, "Дрели", "Набор", true, 2L, null)));
+
+        CursorPage<Long> firstPage = index.search("дрели", null, 2);
+        CursorPage<Long> secondPage = index.search("дрели", firstPage.getNext(), 2);
+
+        assertEquals(List.of(4L, 1L), firstPage.getContent());
+        assertEquals(List.of(2L), secondPage.getContent());
+        assertNull(secondPage.getNext());
+    }
+
+    @Test
+    public void onItemChangedTest() {
+        ItemDto hidden = new ItemDto(1L, "Дрель", "Аккумуляторная дрель", false, 1L, null);
+        ItemDto available = new ItemDto(3L, "Дрель", "Починена", true, 2L, null);
+
+        index.onItemChanged(ItemChangedEvent.updated(ItemMapper.toItemDto(drill), hidden));
+        index.onItemChanged(ItemChangedEvent.added(available));
+
+        assertEquals(List.of(2L, 3L), index.search("дрел", PageRequest.of(0, 10)));
+        assertTrue(index.search("аккумуляторная", PageRequest.of(0, 10)).isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.cache.ItemSearchCache;
+import ru.practicum.shareit.item.util.ItemMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemSearchCacheTest {
+    private ItemSearchCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private Item drill;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+        drill = new Item(1L, "Дрель", "Аккумуляторная", true, 1L, null);
+    }
+
+    @Test
+    public void getCachedByNormalizedTextTest() {
+        assertEquals(List.of("Дрель"), names(search("Дрель")));
+        assertEquals(List.of("Дрель"), names(search("  дрель ")));
+        search("дрель", 1);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0 / 3, meterRegistry.get("cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    public void onItemChangedEvictsResultsContainingItemTest() {
+        search("дрель");
+        ItemDto renamed = new ItemDto(1L, "Перфоратор", "Аккумуляторный", true, 1L, null);
+
+        cache.onItemChanged(ItemChangedEvent.updated(ItemMapper.toItemDto(drill), renamed));
+        search("дрель");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void onItemChangedEvictsMatchingQueriesTest() {
+        search("дрели");
+        search("молоток");
+
+        cache.onItemChanged(ItemChangedEvent.added(new ItemDto(2L, "Дрель", "Новая", true, 2L, null)));
+        search("дрели");
+        search("молоток");
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void onItemChangedIgnoresUnavailableItemsTest() {
+        search("перфоратор");
+
+        cache.onItemChanged(ItemChangedEvent.added(new ItemDto(2L, "Перфоратор", "Сломан", false, 2L, null)));
+        search("перфоратор");
+
+        assertEquals(1, loads.get());
+    }
+
+    private List<Item> search(String text) {
+        return search(text, 0);
+    }
+
+    private List<Item> search(String text, int page) {
+        return cache.get(text, PageRequest.of(page, 10), () -> {
+            loads.incrementAndGet();
+            return List.of(drill);
+        });
+    }
+
+    private List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookingCount;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.suggest.ItemSuggestionIndex;
+import ru.practicum.shareit.item.util.ItemMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.model.enums.BookingStatus.WAITING;
+
+public class ItemSuggestionIndexTest {
+    private ItemSuggestionIndex index;
+    private Item drill;
+    private Item hammer;
+
+    @BeforeEach
+    public void beforeEach() {
+        drill = new Item(1L, "Дрель", "Описание", true, 1L, null);
+        hammer = new Item(2L, "Дрель ударная", "Описание", true, 1L, null);
+        Item unavailable = new Item(3L, "Дрезина", "Описание", false, 2L, null);
+        ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+        BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(drill, hammer, unavailable)));
+        when(bookingRepository.countBookingsByItem()).thenReturn(List.of(count(2L, 3L)));
+        index = new ItemSuggestionIndex(itemRepository, bookingRepository);
+        index.rebuild();
+    }
+
+    @Test
+    public void suggestByPopularityTest() {
+        assertEquals(List.of("Дрель ударная", "Дрель"), index.suggest("  ДР", 10));
+        assertEquals(List.of("Дрель ударная"), index.suggest("др", 1));
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    public void onBookingChangedTest() {
+        for (int i = 0; i < 4; i++) {
+            index.onBookingChanged(new BookingChangedEvent(1L, drill.getId(), LocalDateTime.now(),
+                    LocalDateTime.now().plusDays(1), null, WAITING));
+        }
+
+        assertEquals(List.of("Дрель", "Дрель ударная"), index.suggest("др", 10));
+    }
+
+    @Test
+    public void onItemChangedTest() {
+        ItemDto renamed = new ItemDto(1L, "Перфоратор", "Описание", true, 1L, null);
+        ItemDto available = new ItemDto(3L, "Дрезина", "Описание", true, 2L, null);
+
+        index.onItemChanged(ItemChangedEvent.updated(ItemMapper.toItemDto(drill), renamed));
+        index.onItemChanged(ItemChangedEvent.added(available));
+        index.onItemChanged(ItemChangedEvent.deleted(ItemMapper.toItemDto(hammer)));
+
+        assertEquals(List.of("Дрезина"), index.suggest("др", 10));
+        assertEquals(List.of("Перфоратор"), index.suggest("пер", 10));
+    }
+
+    private ItemBookingCount count(Long itemId, Long bookings) {
+        return new ItemBookingCount() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookings() {
+                return bookings;
+            }
+        };
+    }
+}
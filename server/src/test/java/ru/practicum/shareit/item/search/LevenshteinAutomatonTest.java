@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.fuzzy.LevenshteinAutomaton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LevenshteinAutomatonTest {
+    @Test
+    public void distanceWithinBoundTest() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("дрел", 1);
+
+        assertEquals(0, automaton.distance("дрел"));
+        assertEquals(1, automaton.distance("дрель"));
+        assertEquals(1, automaton.distance("дрол"));
+        assertEquals(1, automaton.distance("дел"));
+    }
+
+    @Test
+    public void distanceOutOfBoundTest() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("перфоратор", 2);
+
+        assertEquals(2, automaton.distance("перфаратр"));
+        assertEquals(-1, automaton.distance("пирфаратрр"));
+        assertEquals(-1, automaton.distance("пер"));
+        assertEquals(-1, automaton.distance("молоток"));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.impl.LuceneItemSearchEngine;
+import ru.practicum.shareit.item.util.ItemMapper;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.PageableMaker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class LuceneItemSearchEngineTest {
+    @TempDir
+    Path indexPath;
+    private LuceneItemSearchEngine searchEngine;
+    private Item firstItem;
+    private Item secondItem;
+    private Pageable pageable;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        firstItem = new Item(1L, "Дрель", "Аккумуляторная дрель Makita", true, 1L, null);
+        secondItem = new Item(2L, "Отвертка", "Простая отвертка для дрели", true, 1L, 1L);
+        Item unavailableItem = new Item(3L, "Дрель ударная", "Сломанная дрель", false, 2L, null);
+        ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(firstItem, secondItem, unavailableItem)));
+        searchEngine = new LuceneItemSearchEngine(itemRepository, indexPath);
+        searchEngine.rebuild();
+        pageable = PageableMaker.makePage(0, 10);
+    }
+
+    @AfterEach
+    public void afterEach() throws IOException {
+        searchEngine.close();
+    }
+
+    @Test
+    public void searchRanksNameMatchesFirstTest() {
+        List<Item> items = searchEngine.search("дрель", pageable);
+
+        assertEquals(2, items.size());
+        assertEquals(firstItem.getId(), items.get(0).getId());
+        assertEquals(firstItem.getName(), items.get(0).getName());
+        assertEquals(firstItem.getOwner(), items.get(0).getOwner());
+        assertEquals(secondItem.getId(), items.get(1).getId());
+        assertEquals(secondItem.getRequestId(), items.get(1).getRequestId());
+    }
+
+    @Test
+    public void searchByPrefixTest() {
+        assertEquals(1, searchEngine.search("makit", pageable).size());
+        assertEquals(1, searchEngine.search("ОТВЕРТ", pageable).size());
+        assertTrue(searchEngine.search("", pageable).isEmpty());
+    }
+
+    @Test
+    public void searchPaginationTest() {
+        List<Item> items = searchEngine.search("дрель", PageableMaker.makePage(1, 1));
+
+        assertEquals(1, items.size());
+        assertEquals(secondItem.getId(), items.get(0).getId());
+    }
+
+    @Test
+    public void searchAfterCursorTest() {
+        CursorPage<Item> firstPage = searchEngine.search("дрель", null, 1);
+        CursorPage<Item> secondPage = searchEngine.search("дрель", firstPage.getNext(), 1);
+        CursorPage<Item> lastPage = searchEngine.search("дрель", secondPage.getNext(), 1);
+
+        assertEquals(firstItem.getId(), firstPage.getContent().get(0).getId());
+        assertEquals(secondItem.getId(), secondPage.getContent().get(0).getId());
+        assertTrue(lastPage.getContent().isEmpty());
+        assertNull(lastPage.getNext());
+    }
+
+    @Test
+    public void onItemChangedTest() throws IOException {
+        Item updatedItem = new Item(2L, "Шуруповерт", "Шуруповерт", true, 1L, 1L);
+        Item addedItem = new Item(4L, "Перфоратор", "Мощная дрель-перфоратор", true, 2L, null);
+
+        searchEngine.onItemChanged(ItemChangedEvent.updated(ItemMapper.toItemDto(secondItem), ItemMapper.toItemDto(updatedItem)));
+        searchEngine.onItemChanged(ItemChangedEvent.added(ItemMapper.toItemDto(addedItem)));
+        searchEngine.onItemChanged(ItemChangedEvent.deleted(ItemMapper.toItemDto(firstItem)));
+
+        List<Item> items = searchEngine.search("дрель", pageable);
+        assertEquals(1, items.size());
+        assertEquals(addedItem.getId(), items.get(0).getId());
+        assertEquals(1, searchEngine.search("шуруповерт", pageable).size());
+    }
+}
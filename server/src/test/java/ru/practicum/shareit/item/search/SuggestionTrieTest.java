@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.suggest.Suggestion;
+import ru.practicum.shareit.item.search.suggest.SuggestionTrie;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SuggestionTrieTest {
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    public void beforeEach() {
+        trie = new SuggestionTrie(3);
+        trie.put("дрель", "Дрель", 5);
+        trie.put("дрель ударная", "Дрель ударная", 7);
+        trie.put("доска", "Доска", 1);
+        trie.put("дрезина", "Дрезина", 2);
+        trie.put("палатка", "Палатка", 10);
+    }
+
+    @Test
+    public void topByPrefixTest() {
+        assertEquals(List.of("Дрель ударная", "Дрель", "Дрезина"), texts("др", 10));
+        assertEquals(List.of("Дрель ударная", "Дрель", "Дрезина"), texts("д", 10));
+        assertEquals(List.of("Дрель ударная", "Дрель"), texts("дрел", 10));
+        assertEquals(List.of("Дрель ударная"), texts("дрель у", 10));
+        assertEquals(List.of("Палатка"), texts("", 1));
+        assertTrue(texts("дрельс", 10).isEmpty());
+        assertTrue(texts("к", 10).isEmpty());
+    }
+
+    @Test
+    public void putUpdatesWeightTest() {
+        trie.put("доска", "Доска", 100);
+
+        assertEquals(List.of("Доска", "Дрель ударная", "Дрель"), texts("д", 10));
+    }
+
+    @Test
+    public void removeTest() {
+        trie.remove("дрель");
+        trie.remove("несуществующий");
+
+        assertEquals(List.of("Дрель ударная", "Дрезина"), texts("дре", 10));
+        assertEquals(List.of("Дрель ударная"), texts("дрель", 10));
+
+        trie.remove("дрель ударная");
+        trie.remove("дрезина");
+
+        assertTrue(texts("др", 10).isEmpty());
+        assertEquals(List.of("Доска"), texts("д", 10));
+    }
+
+    private List<String> texts(String prefix, int limit) {
+        return trie.top(prefix, limit).stream()
+                .map(Suggestion::getText)
+                .collect(Collectors.toList());
+    }
+}
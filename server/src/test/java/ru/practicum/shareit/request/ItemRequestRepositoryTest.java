@@ -59,4 +59,18 @@ public class ItemRequestRepositoryTest {
 
         assertEquals(0, requests.size());
     }
+
+    @Test
+    public void findAllByRequesterIdNotAfterTest() {
+        entityManager.clear();
+        List<ItemRequest> firstPage = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(2L,
+                PageableMaker.makeFirstPage(1));
+        ItemRequest last = firstPage.get(0);
+        List<ItemRequest> secondPage = itemRequestRepository.findAllByRequesterIdNotAfter(2L, last.getCreated(),
+                last.getId(), PageableMaker.makeFirstPage(10));
+
+        assertEquals(secondRequest.getId(), last.getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(firstRequest.getId(), secondPage.get(0).getId());
+    }
 }
@@ -19,14 +19,16 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.impl.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.Cursor;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -103,7 +105,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void getRequestByIdUserNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getRequestById(1L, 999L));
     }
@@ -119,7 +121,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void getAllRequestsByUserIdNotFound() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllRequestsByUserId(999L));
     }
@@ -140,9 +142,27 @@ public class ItemRequestServiceTest {
         assertEquals(1, itemRequestService.getAllRequests(2L, 0, 10).size());
     }
 
+    @Test
+    public void getAllRequestsAfterCursorTestSuccess() {
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(secondUser);
+        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(Mockito.anyLong(), any()))
+                .thenReturn(List.of(itemRequest));
+        when(itemRequestRepository.findAllByRequesterIdNotAfter(Mockito.anyLong(), any(), Mockito.anyLong(), any()))
+                .thenReturn(List.of());
+        when(itemService.getAllItemsByRequestId(Mockito.anyLong())).thenReturn(List.of(item));
+
+        CursorPage<ItemRequestDtoWithItems> firstPage = itemRequestService.getAllRequests(2L, (Cursor) null, 1);
+        CursorPage<ItemRequestDtoWithItems> secondPage = itemRequestService.getAllRequests(2L, firstPage.getNext(), 1);
+
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals(Cursor.of(itemRequest.getCreated(), itemRequest.getId()), firstPage.getNext());
+        assertTrue(secondPage.getContent().isEmpty());
+        assertNull(secondPage.getNext());
+    }
+
     @Test
     public void getAllRequestsUserNotFoundTestFail() {
-        when(userService.getUserById(Mockito.anyLong())).thenThrow(notFoundException);
+        doThrow(notFoundException).when(userService).checkUserExists(Mockito.anyLong());
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllRequests(999L, 0, 10));
     }
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.cache.UserCache;
+import ru.practicum.shareit.user.event.UserChangedEvent;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserCacheTest {
+    private UserCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+    private User user;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserCache(100, Duration.ofMinutes(10), Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+        user = new User(1L, "Имя", "user@email.com");
+    }
+
+    @Test
+    public void getCachedUserTest() {
+        load(1L);
+        User cached = load(1L).orElseThrow();
+
+        assertEquals(1, loads.get());
+        assertEquals(user.getEmail(), cached.getEmail());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    public void getCachedMissingUserTest() {
+        load(999L);
+
+        assertTrue(load(999L).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getExpiredMissingUserTest() {
+        cache = new UserCache(100, Duration.ofMinutes(10), Duration.ZERO, meterRegistry);
+        load(999L);
+        load(999L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void existsCachesAnswersTest() {
+        AtomicInteger checks = new AtomicInteger();
+
+        assertTrue(cache.exists(1L, id -> checks.incrementAndGet() > 0));
+        assertTrue(cache.exists(1L, id -> checks.incrementAndGet() > 0));
+        assertFalse(cache.exists(999L, id -> checks.incrementAndGet() < 0));
+        assertFalse(cache.exists(999L, id -> checks.incrementAndGet() < 0));
+        assertTrue(load(999L).isEmpty());
+        assertEquals(2, checks.get());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void existsMarkerDoesNotHideUserTest() {
+        cache.exists(1L, id -> true);
+
+        assertEquals(user.getEmail(), load(1L).orElseThrow().getEmail());
+        assertTrue(cache.exists(1L, id -> false));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void onUserChangedEvictsUserTest() {
+        load(999L);
+
+        cache.onUserChanged(new UserChangedEvent(999L));
+        load(999L);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<User> load(Long userId) {
+        return cache.get(userId, id -> {
+            loads.incrementAndGet();
+            return id.equals(user.getId()) ? Optional.of(user) : Optional.empty();
+        });
+    }
+}
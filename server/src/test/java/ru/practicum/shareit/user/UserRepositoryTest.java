@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,9 +11,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@DataJpaTest
+@DataJpaTest(properties = "shareit.hibernate.statistics.enabled=true")
 public class UserRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
@@ -35,4 +41,16 @@ public class UserRepositoryTest {
     public void existsByEmailTest() {
         assertTrue(userRepository.existsByEmail("email@email.com"));
     }
+
+    @Test
+    public void findByIdFromSecondLevelCacheTest() {
+        EntityManagerFactory factory = entityManager.getEntityManager().getEntityManagerFactory();
+        Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        EntityManager session = factory.createEntityManager();
+
+        assertEquals("Имя", session.find(User.class, user.getId()).getName());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        session.close();
+    }
 }
@@ -1,20 +1,25 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.exceptions.EntityAlreadyExistsException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.impl.UserServiceImpl;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +34,11 @@ public class UserServiceTest {
     private UserServiceImpl userService;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30),
+            new SimpleMeterRegistry());
     private User firstUser;
     private User secondUser;
 
@@ -86,14 +96,14 @@ public class UserServiceTest {
 
     @Test
     public void deleteUserTestSuccess() {
-        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(firstUser));
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
 
         assertDoesNotThrow(() -> userService.deleteUser(1L));
     }
 
     @Test
     public void deleteUserNotFoundTestFail() {
-        when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+        when(userRepository.existsById(Mockito.anyLong())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> userService.deleteUser(1L));
     }
@@ -109,6 +119,36 @@ public class UserServiceTest {
         assertEquals("first@email.com", user.getEmail());
     }
 
+    @Test
+    public void getUserByIdCachedTestSuccess() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(firstUser));
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        userService.getUserById(1L);
+        User user = userService.getUserById(1L);
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(999L));
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(999L));
+
+        assertEquals(firstUser.getName(), user.getName());
+        Mockito.verify(userRepository, Mockito.times(1)).findById(1L);
+        Mockito.verify(userRepository, Mockito.times(1)).findById(999L);
+    }
+
+    @Test
+    public void checkUserExistsTest() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        assertDoesNotThrow(() -> userService.checkUserExists(1L));
+        assertDoesNotThrow(() -> userService.checkUserExists(1L));
+        assertThrows(EntityNotFoundException.class, () -> userService.checkUserExists(999L));
+        assertThrows(EntityNotFoundException.class, () -> userService.checkUserExists(999L));
+
+        Mockito.verify(userRepository, Mockito.times(1)).existsById(1L);
+        Mockito.verify(userRepository, Mockito.times(1)).existsById(999L);
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
     @Test
     public void getUserByIdNotFoundTestFail() {
         when(userRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorTest {
+    @Test
+    public void encodeAndDecodeTest() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 1, 1, 1, 123000);
+        Cursor timestamp = Cursor.decode(Cursor.of(start, 5L).encode());
+        Cursor score = Cursor.decode(Cursor.of(0.6079271f, 7L).encode());
+
+        assertEquals(start, timestamp.getTimestamp());
+        assertEquals(5L, timestamp.getId());
+        assertEquals(0.6079271f, score.getScore());
+        assertEquals(Cursor.of(3L), Cursor.decode(Cursor.of(3L).encode()));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    public void decodeInvalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("###"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("YWJj"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.of(3L).getTimestamp());
+    }
+}